@@ -0,0 +1,448 @@
+package com.optic.sdk;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single driver for span batching, log batching and periodic metric collection, replacing the
+ * per-processor worker threads of {@code BatchSpanProcessor}, {@code BatchLogRecordProcessor} and
+ * {@code PeriodicMetricReader}. Exporters are expected to send synchronously (the pooled OTLP
+ * exporters do), so no HTTP dispatcher threads are created either.
+ *
+ * <p>Each round visits the signals in rotating order and starts at most one batch per signal, and
+ * a signal never has more than one export in flight, so a log flood cannot starve metric exports.
+ * On runtimes with virtual threads the driver and every export run on virtual threads, which lets
+ * signals send concurrently; otherwise one platform daemon thread runs the exports inline.
+ */
+final class ExportScheduler implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ExportScheduler.class.getName());
+
+    private static final int MAX_QUEUE_SIZE = 2048;
+    private static final int MAX_EXPORT_BATCH_SIZE = 512;
+    private static final Duration SPAN_SCHEDULE_DELAY = Duration.ofSeconds(5);
+    private static final Duration LOG_SCHEDULE_DELAY = Duration.ofSeconds(1);
+    private static final Duration EXPORT_TIMEOUT = Duration.ofSeconds(30);
+    private static final long MAX_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<Signal> signals = new CopyOnWriteArrayList<>();
+    private final ThreadFactory exportThreads;
+    private final Thread driver;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private int nextSignal;
+
+    ExportScheduler() {
+        ThreadFactory virtual = virtualThreadFactory();
+        this.exportThreads = virtual;
+        Runnable loop = this::run;
+        if (virtual != null) {
+            this.driver = virtual.newThread(loop);
+        } else {
+            this.driver = new Thread(loop, "optic-export-scheduler");
+            this.driver.setDaemon(true);
+        }
+        this.driver.start();
+    }
+
+    boolean usesVirtualThreads() {
+        return exportThreads != null;
+    }
+
+    SpanProcessor spanProcessor(SpanExporter exporter) {
+        BatchSignal<SpanData> signal = new BatchSignal<>(
+                "spans",
+                SPAN_SCHEDULE_DELAY,
+                MAX_QUEUE_SIZE,
+                exporter::export,
+                exporter::shutdown
+        );
+        signals.add(signal);
+        return new ScheduledSpanProcessor(signal);
+    }
+
+    LogRecordProcessor logRecordProcessor(LogRecordExporter exporter) {
+        return logRecordProcessor("logs", exporter, MAX_QUEUE_SIZE);
+    }
+
+    LogRecordProcessor logRecordProcessor(String name, LogRecordExporter exporter, int maxQueueSize) {
+        BatchSignal<LogRecordData> signal = new BatchSignal<>(
+                name,
+                LOG_SCHEDULE_DELAY,
+                maxQueueSize,
+                exporter::export,
+                exporter::shutdown
+        );
+        signals.add(signal);
+        return new ScheduledLogRecordProcessor(signal);
+    }
+
+    MetricReader metricReader(MetricExporter exporter, Duration interval) {
+        MetricSignal signal = new MetricSignal(exporter, interval);
+        signals.add(signal);
+        return signal;
+    }
+
+    @Override
+    public void close() {
+        if (!running.compareAndSet(true, false)) {
+            return;
+        }
+        LockSupport.unpark(driver);
+        try {
+            driver.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void wakeUp() {
+        LockSupport.unpark(driver);
+    }
+
+    private void run() {
+        while (running.get()) {
+            long now = System.nanoTime();
+            long parkNanos = MAX_PARK_NANOS;
+            int count = signals.size();
+            // Kept in [0, count) so the rotation never overflows.
+            nextSignal = count == 0 ? 0 : (nextSignal + 1) % count;
+            int first = nextSignal;
+            for (int i = 0; i < count; i++) {
+                Signal signal = signals.get((first + i) % count);
+                if (signal.closed) {
+                    continue;
+                }
+                if (signal.isDue(now) && signal.tryBegin()) {
+                    dispatch(signal);
+                }
+                // An in-flight export wakes the driver from end(), so its stale deadline must not
+                // cut the park short; otherwise a slow collector keeps the driver spinning.
+                if (!signal.isInFlight()) {
+                    parkNanos = Math.min(parkNanos, Math.max(0L, signal.nextDeadline(now) - now));
+                }
+            }
+            if (parkNanos > 0) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+    }
+
+    private void dispatch(Signal signal) {
+        Runnable export = () -> {
+            try {
+                signal.exportOnce();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Optic " + signal.name + " export failed", e);
+            } finally {
+                signal.end();
+                wakeUp();
+            }
+        };
+        if (exportThreads != null) {
+            exportThreads.newThread(export).start();
+        } else {
+            export.run();
+        }
+    }
+
+    // Thread.ofVirtual() is looked up reflectively so the SDK still targets Java 17.
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "optic-export-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException unsupported) {
+            return null;
+        }
+    }
+
+    private abstract static class Signal {
+        final String name;
+        // Held while an export for this signal runs, by the scheduler or by a flush/shutdown caller.
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        volatile boolean closed;
+
+        Signal(String name) {
+            this.name = name;
+        }
+
+        abstract boolean isDue(long now);
+
+        abstract long nextDeadline(long now);
+
+        abstract CompletableResultCode exportOnce();
+
+        boolean isInFlight() {
+            return inFlight.get();
+        }
+
+        boolean tryBegin() {
+            return inFlight.compareAndSet(false, true);
+        }
+
+        void begin() {
+            while (!inFlight.compareAndSet(false, true)) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+
+        void end() {
+            inFlight.set(false);
+        }
+    }
+
+    private final class BatchSignal<T> extends Signal {
+        private final long delayNanos;
+        private final Function<Collection<T>, CompletableResultCode> export;
+        private final Supplier<CompletableResultCode> shutdown;
+        private final ArrayBlockingQueue<T> queue;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong dropped = new AtomicLong();
+        private final List<T> batch = new ArrayList<>(MAX_EXPORT_BATCH_SIZE);
+        private volatile long lastExport = System.nanoTime();
+
+        private BatchSignal(
+                String name,
+                Duration delay,
+                int maxQueueSize,
+                Function<Collection<T>, CompletableResultCode> export,
+                Supplier<CompletableResultCode> shutdown
+        ) {
+            super(name);
+            this.delayNanos = delay.toNanos();
+            this.queue = new ArrayBlockingQueue<>(maxQueueSize);
+            this.export = export;
+            this.shutdown = shutdown;
+        }
+
+        void add(T item) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                if (dropped.getAndIncrement() == 0) {
+                    LOGGER.warning("Optic " + name + " export queue is full; dropping data");
+                }
+                return;
+            }
+            if (pending.incrementAndGet() == MAX_EXPORT_BATCH_SIZE) {
+                wakeUp();
+            }
+        }
+
+        @Override
+        boolean isDue(long now) {
+            int size = pending.get();
+            return size >= MAX_EXPORT_BATCH_SIZE || (size > 0 && now - lastExport >= delayNanos);
+        }
+
+        @Override
+        long nextDeadline(long now) {
+            return pending.get() > 0 ? lastExport + delayNanos : now + MAX_PARK_NANOS;
+        }
+
+        @Override
+        CompletableResultCode exportOnce() {
+            return exportBatch(MAX_EXPORT_BATCH_SIZE);
+        }
+
+        private CompletableResultCode exportBatch(int maxItems) {
+            lastExport = System.nanoTime();
+            int drained = queue.drainTo(batch, maxItems);
+            pending.addAndGet(-drained);
+            if (drained == 0) {
+                return CompletableResultCode.ofSuccess();
+            }
+            try {
+                return export.apply(batch).join(EXPORT_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        CompletableResultCode flush() {
+            List<CompletableResultCode> results = new ArrayList<>();
+            begin();
+            try {
+                // Only what was queued on entry, so producers outpacing the exporter cannot keep
+                // the caller (and the driver, which is locked out meanwhile) here indefinitely.
+                int remaining = pending.get();
+                while (remaining > 0) {
+                    int batchSize = Math.min(remaining, MAX_EXPORT_BATCH_SIZE);
+                    results.add(exportBatch(batchSize));
+                    remaining -= batchSize;
+                }
+            } finally {
+                end();
+            }
+            return CompletableResultCode.ofAll(results);
+        }
+
+        CompletableResultCode shutdown() {
+            closed = true;
+            CompletableResultCode flushed = flush();
+            return CompletableResultCode.ofAll(List.of(flushed, shutdown.get()));
+        }
+    }
+
+    private final class MetricSignal extends Signal implements MetricReader {
+        private final MetricExporter exporter;
+        private final long intervalNanos;
+        private volatile CollectionRegistration registration = CollectionRegistration.noop();
+        private volatile long lastCollect = System.nanoTime();
+
+        private MetricSignal(MetricExporter exporter, Duration interval) {
+            super("metrics");
+            this.exporter = exporter;
+            this.intervalNanos = interval.toNanos();
+        }
+
+        @Override
+        boolean isDue(long now) {
+            return now - lastCollect >= intervalNanos;
+        }
+
+        @Override
+        long nextDeadline(long now) {
+            return lastCollect + intervalNanos;
+        }
+
+        @Override
+        CompletableResultCode exportOnce() {
+            lastCollect = System.nanoTime();
+            Collection<MetricData> metrics = registration.collectAllMetrics();
+            if (metrics.isEmpty()) {
+                return CompletableResultCode.ofSuccess();
+            }
+            return exporter.export(metrics).join(EXPORT_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return exporter.getAggregationTemporality(instrumentType);
+        }
+
+        @Override
+        public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+            return exporter.getDefaultAggregation(instrumentType);
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            CompletableResultCode exported;
+            begin();
+            try {
+                exported = exportOnce();
+            } finally {
+                end();
+            }
+            return CompletableResultCode.ofAll(List.of(exported, exporter.flush()));
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            closed = true;
+            CompletableResultCode flushed = forceFlush();
+            return CompletableResultCode.ofAll(List.of(flushed, exporter.shutdown()));
+        }
+    }
+
+    private static final class ScheduledSpanProcessor implements SpanProcessor {
+        private final BatchSignal<SpanData> signal;
+
+        private ScheduledSpanProcessor(BatchSignal<SpanData> signal) {
+            this.signal = signal;
+        }
+
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+            if (span.getSpanContext().isSampled()) {
+                signal.add(span.toSpanData());
+            }
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return signal.flush();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return signal.shutdown();
+        }
+    }
+
+    private static final class ScheduledLogRecordProcessor implements LogRecordProcessor {
+        private final BatchSignal<LogRecordData> signal;
+
+        private ScheduledLogRecordProcessor(BatchSignal<LogRecordData> signal) {
+            this.signal = signal;
+        }
+
+        @Override
+        public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+            signal.add(logRecord.toLogRecordData());
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return signal.flush();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return signal.shutdown();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.Clock;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.data.DoubleExemplarData;
+import io.opentelemetry.sdk.metrics.data.ExemplarData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil;
+import io.opentelemetry.sdk.metrics.internal.aggregator.Aggregator;
+import io.opentelemetry.sdk.metrics.internal.aggregator.AggregatorFactory;
+import io.opentelemetry.sdk.metrics.internal.aggregator.DoubleExplicitBucketHistogramAggregator;
+import io.opentelemetry.sdk.metrics.internal.aggregator.ExplicitBucketHistogramUtils;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoubleExemplarData;
+import io.opentelemetry.sdk.metrics.internal.descriptor.InstrumentDescriptor;
+import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarFilter;
+import io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarReservoir;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Explicit-bucket histogram aggregation whose exemplar reservoir keeps the most recent sampled
+ * measurement per bucket in an atomic slot, so recording never takes a lock.
+ *
+ * <p>The aggregation plugs into {@code io.opentelemetry.sdk.metrics.internal}, whose signatures
+ * are not stable across SDK releases. Those types are checked once against the SDK on the
+ * classpath; on a mismatch the stock explicit-bucket histogram is used without custom exemplars.
+ */
+final class HistogramExemplars {
+    static final String FILTER_TRACE_BASED = "trace_based";
+    static final String FILTER_ALWAYS_ON = "always_on";
+    static final String FILTER_ALWAYS_OFF = "always_off";
+
+    private static final Logger LOGGER = Logger.getLogger(HistogramExemplars.class.getName());
+    private static final boolean SUPPORTED = probe();
+
+    private HistogramExemplars() {
+    }
+
+    static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    static boolean isValidFilter(String value) {
+        String normalized = normalizeFilter(value);
+        return FILTER_TRACE_BASED.equals(normalized)
+                || FILTER_ALWAYS_ON.equals(normalized)
+                || FILTER_ALWAYS_OFF.equals(normalized);
+    }
+
+    static String normalizeFilter(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static void applyFilter(SdkMeterProviderBuilder builder, String value) {
+        if (SUPPORTED) {
+            SdkMeterProviderUtil.setExemplarFilter(builder, filter(value));
+        }
+    }
+
+    private static ExemplarFilter filter(String value) {
+        return switch (normalizeFilter(value)) {
+            case FILTER_ALWAYS_ON -> ExemplarFilter.alwaysOn();
+            case FILTER_ALWAYS_OFF -> ExemplarFilter.alwaysOff();
+            default -> ExemplarFilter.traceBased();
+        };
+    }
+
+    /**
+     * @param boundaries explicit bucket boundaries, or {@code null} for the instrument's advice
+     *     (falling back to the SDK defaults)
+     */
+    static Aggregation aggregation(int reservoirSize, List<Double> boundaries) {
+        if (!SUPPORTED) {
+            return boundaries == null ? Aggregation.explicitBucketHistogram() : Aggregation.explicitBucketHistogram(boundaries);
+        }
+        return new ExemplarHistogramAggregation(reservoirSize, boundaries);
+    }
+
+    // Compiled against opentelemetry-sdk 1.31; later releases changed these internal signatures,
+    // which would otherwise surface as NoSuchMethodError/AbstractMethodError on the first record.
+    private static boolean probe() {
+        try {
+            Class.forName("io.opentelemetry.sdk.metrics.internal.aggregator.DoubleExplicitBucketHistogramAggregator")
+                    .getConstructor(double[].class, Supplier.class);
+            Class.forName("io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil")
+                    .getMethod("setExemplarFilter", SdkMeterProviderBuilder.class, ExemplarFilter.class);
+            Class.forName("io.opentelemetry.sdk.metrics.internal.exemplar.ExemplarReservoir")
+                    .getMethod("filtered", ExemplarFilter.class, ExemplarReservoir.class);
+            if (implementsAll(ExemplarHistogramAggregation.class, AggregatorFactory.class)
+                    && implementsAll(BucketExemplarReservoir.class, ExemplarReservoir.class)) {
+                return true;
+            }
+        } catch (ReflectiveOperationException | LinkageError incompatible) {
+            // fall through to the warning below
+        }
+        LOGGER.warning("Optic histogram exemplars need opentelemetry-sdk 1.31.x; "
+                + "using the default histogram aggregation without bucket exemplars");
+        return false;
+    }
+
+    private static boolean implementsAll(Class<?> type, Class<?> api) throws NoSuchMethodException {
+        for (Method method : api.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers())
+                    && Modifier.isAbstract(type.getMethod(method.getName(), method.getParameterTypes()).getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class ExemplarHistogramAggregation implements Aggregation, AggregatorFactory {
+        private final int reservoirSize;
+        private final List<Double> boundaries;
+
+        private ExemplarHistogramAggregation(int reservoirSize, List<Double> boundaries) {
+            this.reservoirSize = Math.max(1, reservoirSize);
+            this.boundaries = boundaries == null ? null : List.copyOf(boundaries);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends PointData, U extends ExemplarData> Aggregator<T, U> createAggregator(
+                InstrumentDescriptor instrumentDescriptor, ExemplarFilter exemplarFilter) {
+            List<Double> boundaries = this.boundaries;
+            if (boundaries == null) {
+                boundaries = instrumentDescriptor.getAdvice().getExplicitBucketBoundaries();
+            }
+            if (boundaries == null) {
+                boundaries = ExplicitBucketHistogramUtils.DEFAULT_HISTOGRAM_BUCKET_BOUNDARIES;
+            }
+            double[] boundaryArray = ExplicitBucketHistogramUtils.createBoundaryArray(boundaries);
+            return (Aggregator<T, U>) new DoubleExplicitBucketHistogramAggregator(
+                    boundaryArray,
+                    () -> ExemplarReservoir.filtered(
+                            exemplarFilter,
+                            new BucketExemplarReservoir(Clock.getDefault(), boundaryArray, reservoirSize)
+                    )
+            );
+        }
+
+        @Override
+        public boolean isCompatibleWithInstrument(InstrumentDescriptor instrumentDescriptor) {
+            return instrumentDescriptor.getType() == InstrumentType.HISTOGRAM;
+        }
+
+        @Override
+        public String toString() {
+            return "ExemplarHistogramAggregation{reservoirSize=" + reservoirSize + ", boundaries=" + boundaries + "}";
+        }
+    }
+
+    /**
+     * One slot per bucket while the bucket count fits in the reservoir; beyond that adjacent
+     * buckets share a slot. Each slot holds the last sampled measurement (last-write-wins).
+     */
+    private static final class BucketExemplarReservoir implements ExemplarReservoir<DoubleExemplarData> {
+        private final Clock clock;
+        private final double[] boundaries;
+        private final int bucketCount;
+        private final AtomicReferenceArray<Sample> slots;
+
+        private BucketExemplarReservoir(Clock clock, double[] boundaries, int reservoirSize) {
+            this.clock = clock;
+            this.boundaries = boundaries;
+            this.bucketCount = boundaries.length + 1;
+            this.slots = new AtomicReferenceArray<>(Math.min(bucketCount, reservoirSize));
+        }
+
+        @Override
+        public void offerDoubleMeasurement(double value, Attributes attributes, Context context) {
+            int bucket = ExplicitBucketHistogramUtils.findBucketIndex(boundaries, value);
+            int slot = (int) ((long) bucket * slots.length() / bucketCount);
+            SpanContext spanContext = Span.fromContext(context).getSpanContext();
+            slots.set(slot, new Sample(value, clock.now(), attributes, spanContext));
+        }
+
+        @Override
+        public void offerLongMeasurement(long value, Attributes attributes, Context context) {
+            offerDoubleMeasurement((double) value, attributes, context);
+        }
+
+        @Override
+        public List<DoubleExemplarData> collectAndReset(Attributes pointAttributes) {
+            List<DoubleExemplarData> exemplars = null;
+            for (int i = 0; i < slots.length(); i++) {
+                Sample sample = slots.getAndSet(i, null);
+                if (sample == null) {
+                    continue;
+                }
+                if (exemplars == null) {
+                    exemplars = new ArrayList<>(slots.length());
+                }
+                exemplars.add(ImmutableDoubleExemplarData.create(
+                        filtered(sample.attributes, pointAttributes),
+                        sample.epochNanos,
+                        sample.spanContext,
+                        sample.value
+                ));
+            }
+            return exemplars == null ? Collections.emptyList() : exemplars;
+        }
+
+        // Exemplars only carry the measurement attributes that were dropped from the point.
+        private static Attributes filtered(Attributes original, Attributes pointAttributes) {
+            if (pointAttributes.isEmpty()) {
+                return original;
+            }
+            return original.toBuilder()
+                    .removeIf(key -> pointAttributes.get(key) != null)
+                    .build();
+        }
+    }
+
+    private record Sample(double value, long epochNanos, Attributes attributes, SpanContext spanContext) {
+    }
+}
@@ -14,30 +14,58 @@ import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.OpenTelemetrySdkBuilder;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
+import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.View;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
 import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public final class Optic implements AutoCloseable {
     public static final String VERSION = "0.1.0";
 
+    private static final Duration EXPORT_TIMEOUT = Duration.ofSeconds(10);
+    // Matches the default queue of BatchLogRecordProcessor and the unified scheduler.
+    private static final int DEFAULT_LOG_QUEUE_SIZE = 2048;
     private static final Object LOCK = new Object();
     private static Optic instance;
 
     private final OpticConfig config;
     private final OpenTelemetry openTelemetry;
     private final OpenTelemetrySdk sdk;
+    private final RuntimeMetrics runtimeMetrics;
+    private final Profiler profiler;
+    private final ExportScheduler scheduler;
 
     private volatile boolean closed;
 
-    private Optic(OpticConfig config, OpenTelemetry openTelemetry, OpenTelemetrySdk sdk) {
+    private Optic(
+            OpticConfig config,
+            OpenTelemetry openTelemetry,
+            OpenTelemetrySdk sdk,
+            RuntimeMetrics runtimeMetrics,
+            Profiler profiler,
+            ExportScheduler scheduler
+    ) {
         this.config = config;
         this.openTelemetry = openTelemetry;
         this.sdk = sdk;
+        this.runtimeMetrics = runtimeMetrics;
+        this.profiler = profiler;
+        this.scheduler = scheduler;
     }
 
     public static Optic init() {
@@ -55,54 +83,133 @@ public final class Optic implements AutoCloseable {
 
             Optic created;
             if (!effective.isEnableMetrics() && !effective.isEnableTraces() && !effective.isEnableLogs()) {
-                created = new Optic(effective, OpenTelemetry.noop(), null);
+                created = new Optic(effective, OpenTelemetry.noop(), null, null, null, null);
             } else {
                 Resource resource = buildResource(effective);
                 String authValue = "Bearer " + effective.getApiKey();
                 OpenTelemetrySdkBuilder sdkBuilder = OpenTelemetrySdk.builder();
+                boolean profiling = effective.isEnableProfiling() && effective.isEnableLogs();
+                // Must run before anything touches Context so the storage wrapper can still be installed.
+                boolean contextTracked = profiling && Profiler.installContextTracking();
+                // The unified scheduler needs synchronous senders, so it always uses the pooled exporters.
+                ExportScheduler scheduler = effective.isUnifiedExportScheduler() ? new ExportScheduler() : null;
+                boolean pooled = effective.isPooledExport() || scheduler != null;
 
                 if (effective.isEnableTraces()) {
-                    OtlpHttpSpanExporter spanExporter = OtlpHttpSpanExporter.builder()
-                            .setEndpoint(signalEndpoint(effective.getEndpoint(), "/otlp/v1/traces"))
-                            .addHeader("Authorization", authValue)
-                            .build();
-                    SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                    String tracesEndpoint = signalEndpoint(effective.getEndpoint(), "/otlp/v1/traces");
+                    SpanExporter spanExporter = pooled
+                            ? new OtlpPooledSpanExporter(new OtlpPooledHttpSender(tracesEndpoint, authValue, EXPORT_TIMEOUT))
+                            : OtlpHttpSpanExporter.builder()
+                                    .setEndpoint(tracesEndpoint)
+                                    .addHeader("Authorization", authValue)
+                                    .build();
+                    SdkTracerProviderBuilder tracerProviderBuilder = SdkTracerProvider.builder()
                             .setResource(resource)
-                            .addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build())
-                            .build();
+                            .addSpanProcessor(scheduler != null
+                                    ? scheduler.spanProcessor(spanExporter)
+                                    : BatchSpanProcessor.builder(spanExporter).build());
+                    if (profiling && !contextTracked) {
+                        tracerProviderBuilder.addSpanProcessor(Profiler.spanProcessor());
+                    }
+                    SdkTracerProvider tracerProvider = tracerProviderBuilder.build();
                     sdkBuilder = sdkBuilder.setTracerProvider(tracerProvider);
                 }
 
                 if (effective.isEnableMetrics()) {
-                    OtlpHttpMetricExporter metricExporter = OtlpHttpMetricExporter.builder()
-                            .setEndpoint(signalEndpoint(effective.getEndpoint(), "/otlp/v1/metrics"))
-                            .addHeader("Authorization", authValue)
-                            .build();
-                    PeriodicMetricReader reader = PeriodicMetricReader.builder(metricExporter)
-                            .setInterval(effective.getExportInterval())
-                            .build();
-                    SdkMeterProvider meterProvider = SdkMeterProvider.builder()
+                    String metricsEndpoint = signalEndpoint(effective.getEndpoint(), "/otlp/v1/metrics");
+                    // Exemplar histograms are the reader default rather than a catch-all view, so the
+                    // name-selected views below replace them instead of adding a second stream.
+                    DefaultAggregationSelector aggregationSelector = DefaultAggregationSelector.getDefault().with(
+                            InstrumentType.HISTOGRAM,
+                            HistogramExemplars.aggregation(effective.getExemplarReservoirSize(), null)
+                    );
+                    MetricExporter metricExporter = pooled
+                            ? new OtlpPooledMetricExporter(
+                                    new OtlpPooledHttpSender(metricsEndpoint, authValue, EXPORT_TIMEOUT),
+                                    aggregationSelector
+                            )
+                            : OtlpHttpMetricExporter.builder()
+                                    .setEndpoint(metricsEndpoint)
+                                    .addHeader("Authorization", authValue)
+                                    .setDefaultAggregationSelector(aggregationSelector)
+                                    .build();
+                    MetricReader reader = scheduler != null
+                            ? scheduler.metricReader(metricExporter, effective.getExportInterval())
+                            : PeriodicMetricReader.builder(metricExporter)
+                                    .setInterval(effective.getExportInterval())
+                                    .build();
+                    SdkMeterProviderBuilder meterProviderBuilder = SdkMeterProvider.builder()
                             .setResource(resource)
-                            .registerMetricReader(reader)
-                            .build();
+                            .registerMetricReader(reader);
+                    if (effective.isEnableRuntimeMetrics()) {
+                        View durationView = View.builder()
+                                .setAggregation(HistogramExemplars.aggregation(
+                                        effective.getExemplarReservoirSize(),
+                                        RuntimeMetrics.DURATION_BUCKETS
+                                ))
+                                .build();
+                        for (String name : List.of(RuntimeMetrics.GC_PAUSE_DURATION, RuntimeMetrics.MONITOR_WAIT_DURATION)) {
+                            meterProviderBuilder.registerView(
+                                    InstrumentSelector.builder().setMeterName(RuntimeMetrics.SCOPE).setName(name).build(),
+                                    durationView
+                            );
+                        }
+                    }
+                    HistogramExemplars.applyFilter(meterProviderBuilder, effective.getExemplarFilter());
+                    SdkMeterProvider meterProvider = meterProviderBuilder.build();
                     sdkBuilder = sdkBuilder.setMeterProvider(meterProvider);
                 }
 
                 if (effective.isEnableLogs()) {
-                    OtlpHttpLogRecordExporter logExporter = OtlpHttpLogRecordExporter.builder()
-                            .setEndpoint(signalEndpoint(effective.getEndpoint(), "/otlp/v1/logs"))
-                            .addHeader("Authorization", authValue)
-                            .build();
+                    String logsEndpoint = signalEndpoint(effective.getEndpoint(), "/otlp/v1/logs");
+                    LogRecordExporter logExporter = logExporter(pooled, logsEndpoint, authValue);
                     SdkLoggerProvider loggerProvider = SdkLoggerProvider.builder()
                             .setResource(resource)
-                            .addLogRecordProcessor(BatchLogRecordProcessor.builder(logExporter).build())
+                            .addLogRecordProcessor(scheduler != null
+                                    ? scheduler.logRecordProcessor(logExporter)
+                                    : BatchLogRecordProcessor.builder(logExporter).build())
                             .build();
                     sdkBuilder = sdkBuilder.setLoggerProvider(loggerProvider);
                 }
 
                 OpenTelemetrySdk sdk = sdkBuilder.buildAndRegisterGlobal();
 
-                created = new Optic(effective, sdk, sdk);
+                RuntimeMetrics runtimeMetrics = null;
+                if (effective.isEnableMetrics() && effective.isEnableRuntimeMetrics()) {
+                    runtimeMetrics = new RuntimeMetrics(sdk.getMeter(RuntimeMetrics.SCOPE));
+                }
+
+                Profiler profiler = null;
+                if (profiling) {
+                    // Profiles get their own queue, sized for a full interval, so each interval's
+                    // burst of rows never evicts application logs.
+                    int queueSize = Math.max(
+                            DEFAULT_LOG_QUEUE_SIZE,
+                            Profiler.maxRowsPerInterval(effective.getProfilingMaxStacks())
+                    );
+                    LogRecordExporter profileExporter = logExporter(
+                            pooled,
+                            signalEndpoint(effective.getEndpoint(), "/otlp/v1/logs"),
+                            authValue
+                    );
+                    SdkLoggerProvider profileLogs = SdkLoggerProvider.builder()
+                            .setResource(resource)
+                            .addLogRecordProcessor(scheduler != null
+                                    ? scheduler.logRecordProcessor("profiles", profileExporter, queueSize)
+                                    : BatchLogRecordProcessor.builder(profileExporter).setMaxQueueSize(queueSize).build())
+                            .build();
+                    profiler = Profiler.start(
+                            profileLogs,
+                            effective.getProfilingSamplePeriod(),
+                            effective.getProfilingInterval(),
+                            effective.getProfilingMaxStacks()
+                    );
+                    if (profiler == null) {
+                        profileLogs.shutdown();
+                    }
+                }
+
+                created = new Optic(effective, sdk, sdk, runtimeMetrics, profiler, scheduler);
             }
 
             instance = created;
@@ -154,9 +261,18 @@ public final class Optic implements AutoCloseable {
             if (closed) {
                 return;
             }
+            if (runtimeMetrics != null) {
+                runtimeMetrics.close();
+            }
+            if (profiler != null) {
+                profiler.close();
+            }
             if (sdk != null) {
                 sdk.shutdown().join(10, TimeUnit.SECONDS);
             }
+            if (scheduler != null) {
+                scheduler.close();
+            }
             closed = true;
             if (instance == this) {
                 instance = null;
@@ -196,6 +312,15 @@ public final class Optic implements AutoCloseable {
         }
     }
 
+    private static LogRecordExporter logExporter(boolean pooled, String endpoint, String authValue) {
+        return pooled
+                ? new OtlpPooledLogRecordExporter(new OtlpPooledHttpSender(endpoint, authValue, EXPORT_TIMEOUT))
+                : OtlpHttpLogRecordExporter.builder()
+                        .setEndpoint(endpoint)
+                        .addHeader("Authorization", authValue)
+                        .build();
+    }
+
     private static String signalEndpoint(String endpoint, String signalPath) {
         String base = endpoint == null ? "" : endpoint.trim();
         if (base.isEmpty()) {
@@ -13,7 +13,16 @@ public final class OpticConfig {
     private boolean enableTraces = true;
     private boolean enableMetrics = true;
     private boolean enableLogs = true;
+    private boolean enableRuntimeMetrics = false;
+    private boolean enableProfiling = false;
+    private boolean pooledExport = false;
+    private boolean unifiedExportScheduler = false;
+    private Duration profilingSamplePeriod = Duration.ofMillis(20);
+    private Duration profilingInterval = Duration.ofSeconds(60);
+    private int profilingMaxStacks = 2000;
     private Duration exportInterval = Duration.ofSeconds(10);
+    private String exemplarFilter = HistogramExemplars.FILTER_TRACE_BASED;
+    private int exemplarReservoirSize = 17;
 
     public static OpticConfig fromEnv() {
         OpticConfig cfg = new OpticConfig();
@@ -28,6 +37,10 @@ public final class OpticConfig {
         cfg.enableTraces = parseBoolean(env.get("OPTIC_ENABLE_TRACES"), cfg.enableTraces);
         cfg.enableMetrics = parseBoolean(env.get("OPTIC_ENABLE_METRICS"), cfg.enableMetrics);
         cfg.enableLogs = parseBoolean(env.get("OPTIC_ENABLE_LOGS"), cfg.enableLogs);
+        cfg.enableRuntimeMetrics = parseBoolean(env.get("OPTIC_ENABLE_RUNTIME_METRICS"), cfg.enableRuntimeMetrics);
+        cfg.enableProfiling = parseBoolean(env.get("OPTIC_ENABLE_PROFILING"), cfg.enableProfiling);
+        cfg.pooledExport = parseBoolean(env.get("OPTIC_POOLED_EXPORT"), cfg.pooledExport);
+        cfg.unifiedExportScheduler = parseBoolean(env.get("OPTIC_UNIFIED_EXPORT_SCHEDULER"), cfg.unifiedExportScheduler);
 
         long intervalMs = parseLong(env.get("OPTIC_EXPORT_INTERVAL_MS"), -1L);
         if (intervalMs <= 0) {
@@ -37,6 +50,29 @@ public final class OpticConfig {
             cfg.exportInterval = Duration.ofMillis(intervalMs);
         }
 
+        cfg.exemplarFilter = HistogramExemplars.normalizeFilter(firstNonBlank(
+                env.get("OPTIC_METRICS_EXEMPLAR_FILTER"),
+                env.get("OTEL_METRICS_EXEMPLAR_FILTER"),
+                cfg.exemplarFilter
+        ));
+        long samplePeriodMs = parseLong(env.get("OPTIC_PROFILING_SAMPLE_PERIOD_MS"), -1L);
+        if (samplePeriodMs > 0) {
+            cfg.profilingSamplePeriod = Duration.ofMillis(samplePeriodMs);
+        }
+        long profilingIntervalMs = parseLong(env.get("OPTIC_PROFILING_INTERVAL_MS"), -1L);
+        if (profilingIntervalMs > 0) {
+            cfg.profilingInterval = Duration.ofMillis(profilingIntervalMs);
+        }
+        long maxStacks = parseLong(env.get("OPTIC_PROFILING_MAX_STACKS"), -1L);
+        if (maxStacks > 0) {
+            cfg.profilingMaxStacks = (int) Math.min(maxStacks, Integer.MAX_VALUE);
+        }
+
+        long reservoirSize = parseLong(env.get("OPTIC_METRICS_EXEMPLAR_RESERVOIR_SIZE"), -1L);
+        if (reservoirSize > 0) {
+            cfg.exemplarReservoirSize = (int) Math.min(reservoirSize, Integer.MAX_VALUE);
+        }
+
         return cfg;
     }
 
@@ -56,6 +92,21 @@ public final class OpticConfig {
         if (exportInterval == null || exportInterval.isZero() || exportInterval.isNegative()) {
             throw new IllegalArgumentException("exportInterval must be greater than zero");
         }
+        if (!HistogramExemplars.isValidFilter(exemplarFilter)) {
+            throw new IllegalArgumentException("exemplarFilter must be one of trace_based, always_on, always_off");
+        }
+        if (exemplarReservoirSize <= 0) {
+            throw new IllegalArgumentException("exemplarReservoirSize must be greater than zero");
+        }
+        if (profilingSamplePeriod == null || profilingSamplePeriod.isZero() || profilingSamplePeriod.isNegative()) {
+            throw new IllegalArgumentException("profilingSamplePeriod must be greater than zero");
+        }
+        if (profilingInterval == null || profilingInterval.isZero() || profilingInterval.isNegative()) {
+            throw new IllegalArgumentException("profilingInterval must be greater than zero");
+        }
+        if (profilingMaxStacks <= 0) {
+            throw new IllegalArgumentException("profilingMaxStacks must be greater than zero");
+        }
     }
 
     public String getApiKey() {
@@ -136,6 +187,15 @@ public final class OpticConfig {
         return this;
     }
 
+    public boolean isEnableRuntimeMetrics() {
+        return enableRuntimeMetrics;
+    }
+
+    public OpticConfig setEnableRuntimeMetrics(boolean enableRuntimeMetrics) {
+        this.enableRuntimeMetrics = enableRuntimeMetrics;
+        return this;
+    }
+
     public Duration getExportInterval() {
         return exportInterval;
     }
@@ -147,6 +207,89 @@ public final class OpticConfig {
         return this;
     }
 
+    public boolean isEnableProfiling() {
+        return enableProfiling;
+    }
+
+    public OpticConfig setEnableProfiling(boolean enableProfiling) {
+        this.enableProfiling = enableProfiling;
+        return this;
+    }
+
+    public boolean isPooledExport() {
+        return pooledExport;
+    }
+
+    public OpticConfig setPooledExport(boolean pooledExport) {
+        this.pooledExport = pooledExport;
+        return this;
+    }
+
+    public boolean isUnifiedExportScheduler() {
+        return unifiedExportScheduler;
+    }
+
+    public OpticConfig setUnifiedExportScheduler(boolean unifiedExportScheduler) {
+        this.unifiedExportScheduler = unifiedExportScheduler;
+        return this;
+    }
+
+    public Duration getProfilingSamplePeriod() {
+        return profilingSamplePeriod;
+    }
+
+    public OpticConfig setProfilingSamplePeriod(Duration profilingSamplePeriod) {
+        if (profilingSamplePeriod != null && !profilingSamplePeriod.isZero() && !profilingSamplePeriod.isNegative()) {
+            this.profilingSamplePeriod = profilingSamplePeriod;
+        }
+        return this;
+    }
+
+    public Duration getProfilingInterval() {
+        return profilingInterval;
+    }
+
+    public OpticConfig setProfilingInterval(Duration profilingInterval) {
+        if (profilingInterval != null && !profilingInterval.isZero() && !profilingInterval.isNegative()) {
+            this.profilingInterval = profilingInterval;
+        }
+        return this;
+    }
+
+    public int getProfilingMaxStacks() {
+        return profilingMaxStacks;
+    }
+
+    public OpticConfig setProfilingMaxStacks(int profilingMaxStacks) {
+        if (profilingMaxStacks > 0) {
+            this.profilingMaxStacks = profilingMaxStacks;
+        }
+        return this;
+    }
+
+    public String getExemplarFilter() {
+        return exemplarFilter;
+    }
+
+    public OpticConfig setExemplarFilter(String exemplarFilter) {
+        String normalized = HistogramExemplars.normalizeFilter(exemplarFilter);
+        if (!normalized.isEmpty()) {
+            this.exemplarFilter = normalized;
+        }
+        return this;
+    }
+
+    public int getExemplarReservoirSize() {
+        return exemplarReservoirSize;
+    }
+
+    public OpticConfig setExemplarReservoirSize(int exemplarReservoirSize) {
+        if (exemplarReservoirSize > 0) {
+            this.exemplarReservoirSize = exemplarReservoirSize;
+        }
+        return this;
+    }
+
     private static String firstNonBlank(String... values) {
         for (String value : values) {
             if (!isBlank(value)) {
@@ -0,0 +1,130 @@
+package com.optic.sdk;
+
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends pooled OTLP protobuf payloads over HTTP on the calling (exporter) thread, writing the
+ * writer's array straight into a fixed-length request body. Also holds the pre-encoded
+ * {@code Resource} and {@code InstrumentationScope} blocks shared by the pooled exporters.
+ */
+final class OtlpPooledHttpSender {
+    private static final Logger LOGGER = Logger.getLogger(OtlpPooledHttpSender.class.getName());
+    private static final int MAX_CACHED_RESOURCES = 16;
+    private static final int MAX_CACHED_SCOPES = 256;
+
+    // resource.v1.Resource / common.v1.InstrumentationScope
+    private static final int RESOURCE_ATTRIBUTES = 1;
+    private static final int SCOPE_NAME = 1;
+    private static final int SCOPE_VERSION = 2;
+    private static final int SCOPE_ATTRIBUTES = 3;
+
+    private static final Map<Resource, byte[]> RESOURCE_BLOCKS = new ConcurrentHashMap<>();
+    private static final Map<InstrumentationScopeInfo, byte[]> SCOPE_BLOCKS = new ConcurrentHashMap<>();
+
+    private final URL endpoint;
+    private final String authorization;
+    private final int timeoutMillis;
+
+    OtlpPooledHttpSender(String endpoint, String authorization, Duration timeout) {
+        try {
+            this.endpoint = new URL(endpoint);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("invalid OTLP endpoint: " + endpoint, e);
+        }
+        this.authorization = authorization;
+        this.timeoutMillis = (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+    }
+
+    boolean send(OtlpProtoWriter payload) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) endpoint.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            connection.setFixedLengthStreamingMode(payload.size());
+            connection.setRequestProperty("Content-Type", "application/x-protobuf");
+            connection.setRequestProperty("Authorization", authorization);
+            try (OutputStream out = connection.getOutputStream()) {
+                payload.writeTo(out);
+            }
+            int status = connection.getResponseCode();
+            drain(status >= 400 ? connection.getErrorStream() : connection.getInputStream());
+            if (status < 200 || status >= 300) {
+                LOGGER.log(Level.WARNING, "OTLP export to {0} failed with HTTP {1}", new Object[] {endpoint, status});
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "OTLP export to " + endpoint + " failed", e);
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return false;
+        }
+    }
+
+    // Fully reading the body lets HttpURLConnection return the socket to its keep-alive cache.
+    private static void drain(InputStream in) throws IOException {
+        if (in == null) {
+            return;
+        }
+        try (in) {
+            byte[] skip = new byte[512];
+            while (in.read(skip) >= 0) {
+                // discard
+            }
+        }
+    }
+
+    static void writeResource(OtlpProtoWriter writer, int field, Resource resource) {
+        byte[] block = RESOURCE_BLOCKS.get(resource);
+        if (block == null) {
+            block = encode(field, w -> w.writeAttributes(RESOURCE_ATTRIBUTES, resource.getAttributes()));
+            if (RESOURCE_BLOCKS.size() < MAX_CACHED_RESOURCES) {
+                RESOURCE_BLOCKS.putIfAbsent(resource, block);
+            }
+        }
+        writer.writeRaw(block);
+    }
+
+    static void writeScope(OtlpProtoWriter writer, int field, InstrumentationScopeInfo scope) {
+        byte[] block = SCOPE_BLOCKS.get(scope);
+        if (block == null) {
+            block = encode(field, w -> {
+                w.writeString(SCOPE_NAME, scope.getName());
+                w.writeString(SCOPE_VERSION, scope.getVersion());
+                w.writeAttributes(SCOPE_ATTRIBUTES, scope.getAttributes());
+            });
+            if (SCOPE_BLOCKS.size() < MAX_CACHED_SCOPES) {
+                SCOPE_BLOCKS.putIfAbsent(scope, block);
+            }
+        }
+        writer.writeRaw(block);
+    }
+
+    private static byte[] encode(int field, Consumer<OtlpProtoWriter> body) {
+        OtlpProtoWriter scratch = OtlpProtoWriter.acquire();
+        try {
+            scratch.startMessage(field);
+            body.accept(scratch);
+            scratch.endMessage();
+            return scratch.toByteArray();
+        } finally {
+            OtlpProtoWriter.release(scratch);
+        }
+    }
+}
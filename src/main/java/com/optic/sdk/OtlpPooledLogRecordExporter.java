@@ -0,0 +1,122 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OTLP/HTTP log exporter that encodes {@code ExportLogsServiceRequest} directly into a pooled
+ * {@link OtlpProtoWriter}, reusing pre-encoded resource and scope blocks.
+ */
+final class OtlpPooledLogRecordExporter implements LogRecordExporter {
+    // collector.logs.v1.ExportLogsServiceRequest / logs.v1.ResourceLogs / ScopeLogs
+    private static final int REQUEST_RESOURCE_LOGS = 1;
+    private static final int RESOURCE_LOGS_RESOURCE = 1;
+    private static final int RESOURCE_LOGS_SCOPE_LOGS = 2;
+    private static final int RESOURCE_LOGS_SCHEMA_URL = 3;
+    private static final int SCOPE_LOGS_SCOPE = 1;
+    private static final int SCOPE_LOGS_LOG_RECORDS = 2;
+    private static final int SCOPE_LOGS_SCHEMA_URL = 3;
+
+    // logs.v1.LogRecord
+    private static final int LOG_TIME = 1;
+    private static final int LOG_SEVERITY_NUMBER = 2;
+    private static final int LOG_SEVERITY_TEXT = 3;
+    private static final int LOG_BODY = 5;
+    private static final int LOG_ATTRIBUTES = 6;
+    private static final int LOG_DROPPED_ATTRIBUTES = 7;
+    private static final int LOG_FLAGS = 8;
+    private static final int LOG_TRACE_ID = 9;
+    private static final int LOG_SPAN_ID = 10;
+    private static final int LOG_OBSERVED_TIME = 11;
+
+    private final OtlpPooledHttpSender sender;
+    private volatile boolean shutdown;
+
+    OtlpPooledLogRecordExporter(OtlpPooledHttpSender sender) {
+        this.sender = sender;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<LogRecordData> logs) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        OtlpProtoWriter writer = OtlpProtoWriter.acquire();
+        try {
+            encode(writer, logs);
+            return sender.send(writer) ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+        } finally {
+            OtlpProtoWriter.release(writer);
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        shutdown = true;
+        return CompletableResultCode.ofSuccess();
+    }
+
+    static void encode(OtlpProtoWriter writer, Collection<LogRecordData> logs) {
+        for (Map.Entry<Resource, Map<InstrumentationScopeInfo, List<LogRecordData>>> byResource : group(logs).entrySet()) {
+            Resource resource = byResource.getKey();
+            writer.startMessage(REQUEST_RESOURCE_LOGS);
+            OtlpPooledHttpSender.writeResource(writer, RESOURCE_LOGS_RESOURCE, resource);
+            for (Map.Entry<InstrumentationScopeInfo, List<LogRecordData>> byScope : byResource.getValue().entrySet()) {
+                InstrumentationScopeInfo scope = byScope.getKey();
+                writer.startMessage(RESOURCE_LOGS_SCOPE_LOGS);
+                OtlpPooledHttpSender.writeScope(writer, SCOPE_LOGS_SCOPE, scope);
+                for (LogRecordData log : byScope.getValue()) {
+                    writeLog(writer, log);
+                }
+                writer.writeString(SCOPE_LOGS_SCHEMA_URL, scope.getSchemaUrl());
+                writer.endMessage();
+            }
+            writer.writeString(RESOURCE_LOGS_SCHEMA_URL, resource.getSchemaUrl());
+            writer.endMessage();
+        }
+    }
+
+    private static void writeLog(OtlpProtoWriter writer, LogRecordData log) {
+        writer.startMessage(SCOPE_LOGS_LOG_RECORDS);
+        writer.writeFixed64(LOG_TIME, log.getTimestampEpochNanos());
+        // Same field order as the upstream marshaler, so payloads are byte-identical.
+        writer.writeFixed64(LOG_OBSERVED_TIME, log.getObservedTimestampEpochNanos());
+        writer.writeEnum(LOG_SEVERITY_NUMBER, log.getSeverity().getSeverityNumber());
+        writer.writeString(LOG_SEVERITY_TEXT, log.getSeverityText());
+        // The upstream marshaler always writes the body; an empty body is an empty string value.
+        writer.writeStringAnyValue(LOG_BODY, log.getBody().asString());
+        writer.writeAttributes(LOG_ATTRIBUTES, log.getAttributes());
+        writer.writeUint32(LOG_DROPPED_ATTRIBUTES, log.getTotalAttributeCount() - log.getAttributes().size());
+        SpanContext spanContext = log.getSpanContext();
+        if (spanContext.isValid()) {
+            writer.writeFixed32(LOG_FLAGS, spanContext.getTraceFlags().asByte() & 0xFF);
+            writer.writeHexId(LOG_TRACE_ID, spanContext.getTraceId());
+            writer.writeHexId(LOG_SPAN_ID, spanContext.getSpanId());
+        }
+        writer.endMessage();
+    }
+
+    private static Map<Resource, Map<InstrumentationScopeInfo, List<LogRecordData>>> group(Collection<LogRecordData> logs) {
+        Map<Resource, Map<InstrumentationScopeInfo, List<LogRecordData>>> grouped = new LinkedHashMap<>();
+        for (LogRecordData log : logs) {
+            grouped.computeIfAbsent(log.getResource(), r -> new LinkedHashMap<>())
+                    .computeIfAbsent(log.getInstrumentationScopeInfo(), s -> new ArrayList<>())
+                    .add(log);
+        }
+        return grouped;
+    }
+}
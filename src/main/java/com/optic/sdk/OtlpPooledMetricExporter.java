@@ -0,0 +1,65 @@
+package com.optic.sdk;
+
+import io.opentelemetry.exporter.internal.otlp.metrics.MetricsRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * OTLP/HTTP metric exporter that sends through {@link OtlpPooledHttpSender} on the calling thread.
+ * Metrics are exported once per interval, so encoding reuses the upstream marshaler and only the
+ * buffer and transport are pooled; this keeps the exporter free of HTTP dispatcher threads.
+ */
+final class OtlpPooledMetricExporter implements MetricExporter {
+    private final OtlpPooledHttpSender sender;
+    private final DefaultAggregationSelector aggregationSelector;
+    private volatile boolean shutdown;
+
+    OtlpPooledMetricExporter(OtlpPooledHttpSender sender, DefaultAggregationSelector aggregationSelector) {
+        this.sender = sender;
+        this.aggregationSelector = aggregationSelector;
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return AggregationTemporality.CUMULATIVE;
+    }
+
+    @Override
+    public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+        return aggregationSelector.getDefaultAggregation(instrumentType);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<MetricData> metrics) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        OtlpProtoWriter writer = OtlpProtoWriter.acquire();
+        try {
+            MetricsRequestMarshaler.create(metrics).writeBinaryTo(writer.asOutputStream());
+            return sender.send(writer) ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        } finally {
+            OtlpProtoWriter.release(writer);
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        shutdown = true;
+        return CompletableResultCode.ofSuccess();
+    }
+}
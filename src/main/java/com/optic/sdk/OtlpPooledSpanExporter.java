@@ -0,0 +1,193 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OTLP/HTTP span exporter that encodes {@code ExportTraceServiceRequest} directly into a pooled
+ * {@link OtlpProtoWriter}, reusing pre-encoded resource and scope blocks.
+ */
+final class OtlpPooledSpanExporter implements SpanExporter {
+    // collector.trace.v1.ExportTraceServiceRequest / trace.v1.ResourceSpans / ScopeSpans
+    private static final int REQUEST_RESOURCE_SPANS = 1;
+    private static final int RESOURCE_SPANS_RESOURCE = 1;
+    private static final int RESOURCE_SPANS_SCOPE_SPANS = 2;
+    private static final int RESOURCE_SPANS_SCHEMA_URL = 3;
+    private static final int SCOPE_SPANS_SCOPE = 1;
+    private static final int SCOPE_SPANS_SPANS = 2;
+    private static final int SCOPE_SPANS_SCHEMA_URL = 3;
+
+    // trace.v1.Span
+    private static final int SPAN_TRACE_ID = 1;
+    private static final int SPAN_SPAN_ID = 2;
+    private static final int SPAN_TRACE_STATE = 3;
+    private static final int SPAN_PARENT_SPAN_ID = 4;
+    private static final int SPAN_NAME = 5;
+    private static final int SPAN_KIND = 6;
+    private static final int SPAN_START_TIME = 7;
+    private static final int SPAN_END_TIME = 8;
+    private static final int SPAN_ATTRIBUTES = 9;
+    private static final int SPAN_DROPPED_ATTRIBUTES = 10;
+    private static final int SPAN_EVENTS = 11;
+    private static final int SPAN_DROPPED_EVENTS = 12;
+    private static final int SPAN_LINKS = 13;
+    private static final int SPAN_DROPPED_LINKS = 14;
+    private static final int SPAN_STATUS = 15;
+
+    // trace.v1.Span.Event / Span.Link / Status
+    private static final int EVENT_TIME = 1;
+    private static final int EVENT_NAME = 2;
+    private static final int EVENT_ATTRIBUTES = 3;
+    private static final int EVENT_DROPPED_ATTRIBUTES = 4;
+    private static final int LINK_TRACE_ID = 1;
+    private static final int LINK_SPAN_ID = 2;
+    private static final int LINK_TRACE_STATE = 3;
+    private static final int LINK_ATTRIBUTES = 4;
+    private static final int LINK_DROPPED_ATTRIBUTES = 5;
+    private static final int STATUS_MESSAGE = 2;
+    private static final int STATUS_CODE = 3;
+
+    private final OtlpPooledHttpSender sender;
+    private volatile boolean shutdown;
+
+    OtlpPooledSpanExporter(OtlpPooledHttpSender sender) {
+        this.sender = sender;
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        if (shutdown) {
+            return CompletableResultCode.ofFailure();
+        }
+        OtlpProtoWriter writer = OtlpProtoWriter.acquire();
+        try {
+            encode(writer, spans);
+            return sender.send(writer) ? CompletableResultCode.ofSuccess() : CompletableResultCode.ofFailure();
+        } finally {
+            OtlpProtoWriter.release(writer);
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        shutdown = true;
+        return CompletableResultCode.ofSuccess();
+    }
+
+    static void encode(OtlpProtoWriter writer, Collection<SpanData> spans) {
+        for (Map.Entry<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> byResource : group(spans).entrySet()) {
+            Resource resource = byResource.getKey();
+            writer.startMessage(REQUEST_RESOURCE_SPANS);
+            OtlpPooledHttpSender.writeResource(writer, RESOURCE_SPANS_RESOURCE, resource);
+            for (Map.Entry<InstrumentationScopeInfo, List<SpanData>> byScope : byResource.getValue().entrySet()) {
+                InstrumentationScopeInfo scope = byScope.getKey();
+                writer.startMessage(RESOURCE_SPANS_SCOPE_SPANS);
+                OtlpPooledHttpSender.writeScope(writer, SCOPE_SPANS_SCOPE, scope);
+                for (SpanData span : byScope.getValue()) {
+                    writeSpan(writer, span);
+                }
+                writer.writeString(SCOPE_SPANS_SCHEMA_URL, scope.getSchemaUrl());
+                writer.endMessage();
+            }
+            writer.writeString(RESOURCE_SPANS_SCHEMA_URL, resource.getSchemaUrl());
+            writer.endMessage();
+        }
+    }
+
+    private static void writeSpan(OtlpProtoWriter writer, SpanData span) {
+        SpanContext spanContext = span.getSpanContext();
+        writer.startMessage(SCOPE_SPANS_SPANS);
+        writer.writeHexId(SPAN_TRACE_ID, spanContext.getTraceId());
+        writer.writeHexId(SPAN_SPAN_ID, spanContext.getSpanId());
+        writer.writeString(SPAN_TRACE_STATE, encodeTraceState(spanContext));
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid()) {
+            writer.writeHexId(SPAN_PARENT_SPAN_ID, parent.getSpanId());
+        }
+        writer.writeString(SPAN_NAME, span.getName());
+        writer.writeEnum(SPAN_KIND, span.getKind().ordinal() + 1);
+        writer.writeFixed64(SPAN_START_TIME, span.getStartEpochNanos());
+        writer.writeFixed64(SPAN_END_TIME, span.getEndEpochNanos());
+        writer.writeAttributes(SPAN_ATTRIBUTES, span.getAttributes());
+        writer.writeUint32(SPAN_DROPPED_ATTRIBUTES, span.getTotalAttributeCount() - span.getAttributes().size());
+
+        for (EventData event : span.getEvents()) {
+            writer.startMessage(SPAN_EVENTS);
+            writer.writeFixed64(EVENT_TIME, event.getEpochNanos());
+            writer.writeString(EVENT_NAME, event.getName());
+            writer.writeAttributes(EVENT_ATTRIBUTES, event.getAttributes());
+            writer.writeUint32(EVENT_DROPPED_ATTRIBUTES, event.getDroppedAttributesCount());
+            writer.endMessage();
+        }
+        writer.writeUint32(SPAN_DROPPED_EVENTS, span.getTotalRecordedEvents() - span.getEvents().size());
+
+        for (LinkData link : span.getLinks()) {
+            SpanContext linked = link.getSpanContext();
+            writer.startMessage(SPAN_LINKS);
+            writer.writeHexId(LINK_TRACE_ID, linked.getTraceId());
+            writer.writeHexId(LINK_SPAN_ID, linked.getSpanId());
+            writer.writeString(LINK_TRACE_STATE, encodeTraceState(linked));
+            writer.writeAttributes(LINK_ATTRIBUTES, link.getAttributes());
+            writer.writeUint32(LINK_DROPPED_ATTRIBUTES, link.getTotalAttributeCount() - link.getAttributes().size());
+            writer.endMessage();
+        }
+        writer.writeUint32(SPAN_DROPPED_LINKS, span.getTotalRecordedLinks() - span.getLinks().size());
+
+        StatusData status = span.getStatus();
+        writer.startMessage(SPAN_STATUS);
+        writer.writeString(STATUS_MESSAGE, status.getDescription());
+        writer.writeEnum(STATUS_CODE, statusCode(status));
+        writer.endMessage();
+
+        writer.endMessage();
+    }
+
+    private static int statusCode(StatusData status) {
+        return switch (status.getStatusCode()) {
+            case OK -> 1;
+            case ERROR -> 2;
+            default -> 0;
+        };
+    }
+
+    private static String encodeTraceState(SpanContext spanContext) {
+        if (spanContext.getTraceState().isEmpty()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        spanContext.getTraceState().forEach((key, value) -> {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(key).append('=').append(value);
+        });
+        return sb.toString();
+    }
+
+    private static Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> group(Collection<SpanData> spans) {
+        Map<Resource, Map<InstrumentationScopeInfo, List<SpanData>>> grouped = new LinkedHashMap<>();
+        for (SpanData span : spans) {
+            grouped.computeIfAbsent(span.getResource(), r -> new LinkedHashMap<>())
+                    .computeIfAbsent(span.getInstrumentationScopeInfo(), s -> new ArrayList<>())
+                    .add(span);
+        }
+        return grouped;
+    }
+}
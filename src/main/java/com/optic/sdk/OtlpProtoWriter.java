@@ -0,0 +1,358 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * Minimal protobuf writer for OTLP payloads over a reusable byte array. Nested messages reserve a
+ * one-byte length prefix and are shifted only when the body outgrows it, so no size pre-pass or
+ * intermediate buffers are needed. Writers are pooled; a released writer keeps its grown array.
+ */
+final class OtlpProtoWriter implements BiConsumer<AttributeKey<?>, Object> {
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 8 * 1024 * 1024;
+    private static final int POOL_SIZE = 4;
+    private static final ArrayBlockingQueue<OtlpProtoWriter> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LEN = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    // common.v1.KeyValue / AnyValue / ArrayValue
+    private static final int KEY_VALUE_KEY = 1;
+    private static final int KEY_VALUE_VALUE = 2;
+    private static final int ANY_STRING = 1;
+    private static final int ANY_BOOL = 2;
+    private static final int ANY_INT = 3;
+    private static final int ANY_DOUBLE = 4;
+    private static final int ANY_ARRAY = 5;
+    private static final int ARRAY_VALUES = 1;
+
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int pos;
+    private int[] starts = new int[16];
+    private int depth;
+    private int attributeField;
+    private final OutputStream appender = new OutputStream() {
+        @Override
+        public void write(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buf, pos, length);
+            pos += length;
+        }
+    };
+
+    private OtlpProtoWriter() {
+    }
+
+    static OtlpProtoWriter acquire() {
+        OtlpProtoWriter writer = POOL.poll();
+        return writer == null ? new OtlpProtoWriter() : writer;
+    }
+
+    static void release(OtlpProtoWriter writer) {
+        writer.pos = 0;
+        writer.depth = 0;
+        if (writer.buf.length <= MAX_RETAINED_CAPACITY) {
+            POOL.offer(writer);
+        }
+    }
+
+    int size() {
+        return pos;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, pos);
+    }
+
+    /** Appends whatever is written to the returned stream, e.g. an upstream OTLP marshaler. */
+    OutputStream asOutputStream() {
+        return appender;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, pos);
+    }
+
+    void startMessage(int field) {
+        tag(field, WIRE_LEN);
+        if (depth == starts.length) {
+            starts = Arrays.copyOf(starts, depth * 2);
+        }
+        ensure(1);
+        buf[pos++] = 0;
+        starts[depth++] = pos;
+    }
+
+    void endMessage() {
+        int start = starts[--depth];
+        int length = pos - start;
+        int prefix = varintSize(length);
+        if (prefix > 1) {
+            ensure(prefix - 1);
+            System.arraycopy(buf, start, buf, start + prefix - 1, length);
+            pos += prefix - 1;
+        }
+        int at = start - 1;
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            buf[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[at] = (byte) value;
+    }
+
+    void writeRaw(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    void writeString(int field, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        tag(field, WIRE_LEN);
+        writeStringValue(value);
+    }
+
+    void writeUint32(int field, int value) {
+        if (value == 0) {
+            return;
+        }
+        tag(field, WIRE_VARINT);
+        varint(value & 0xFFFFFFFFL);
+    }
+
+    void writeEnum(int field, int value) {
+        writeUint32(field, value);
+    }
+
+    void writeFixed64(int field, long value) {
+        if (value == 0) {
+            return;
+        }
+        tag(field, WIRE_FIXED64);
+        fixed64(value);
+    }
+
+    void writeFixed32(int field, int value) {
+        if (value == 0) {
+            return;
+        }
+        tag(field, WIRE_FIXED32);
+        ensure(4);
+        for (int i = 0; i < 4; i++) {
+            buf[pos++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /** Writes a lowercase/uppercase hex id (trace or span id) as raw bytes without decoding to an array. */
+    void writeHexId(int field, String hex) {
+        if (hex == null || hex.isEmpty()) {
+            return;
+        }
+        int length = hex.length() / 2;
+        tag(field, WIRE_LEN);
+        varint(length);
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buf[pos++] = (byte) ((hexValue(hex.charAt(2 * i)) << 4) | hexValue(hex.charAt(2 * i + 1)));
+        }
+    }
+
+    void writeAttributes(int field, Attributes attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return;
+        }
+        int previous = attributeField;
+        attributeField = field;
+        attributes.forEach(this);
+        attributeField = previous;
+    }
+
+    /** Writes a string {@code AnyValue} as a nested message under {@code field}, even when empty. */
+    void writeStringAnyValue(int field, String value) {
+        startMessage(field);
+        writeStringField(ANY_STRING, value);
+        endMessage();
+    }
+
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+        startMessage(attributeField);
+        writeString(KEY_VALUE_KEY, key.getKey());
+        startMessage(KEY_VALUE_VALUE);
+        switch (key.getType()) {
+            case STRING -> writeStringField(ANY_STRING, (String) value);
+            case BOOLEAN -> writeBoolField(ANY_BOOL, (Boolean) value);
+            case LONG -> writeInt64Field(ANY_INT, (Long) value);
+            case DOUBLE -> writeDoubleField(ANY_DOUBLE, (Double) value);
+            case STRING_ARRAY, BOOLEAN_ARRAY, LONG_ARRAY, DOUBLE_ARRAY -> writeArray((List<?>) value);
+            default -> writeStringField(ANY_STRING, String.valueOf(value));
+        }
+        endMessage();
+        endMessage();
+    }
+
+    private void writeArray(List<?> values) {
+        startMessage(ANY_ARRAY);
+        for (Object item : values) {
+            startMessage(ARRAY_VALUES);
+            if (item instanceof String text) {
+                writeStringField(ANY_STRING, text);
+            } else if (item instanceof Boolean flag) {
+                writeBoolField(ANY_BOOL, flag);
+            } else if (item instanceof Long number) {
+                writeInt64Field(ANY_INT, number);
+            } else if (item instanceof Double number) {
+                writeDoubleField(ANY_DOUBLE, number);
+            } else if (item != null) {
+                writeStringField(ANY_STRING, String.valueOf(item));
+            }
+            endMessage();
+        }
+        endMessage();
+    }
+
+    // AnyValue is a oneof, so its members are written even when they hold the default value.
+    private void writeStringField(int field, String value) {
+        tag(field, WIRE_LEN);
+        writeStringValue(value == null ? "" : value);
+    }
+
+    private void writeBoolField(int field, boolean value) {
+        tag(field, WIRE_VARINT);
+        ensure(1);
+        buf[pos++] = (byte) (value ? 1 : 0);
+    }
+
+    private void writeInt64Field(int field, long value) {
+        tag(field, WIRE_VARINT);
+        varint(value);
+    }
+
+    private void writeDoubleField(int field, double value) {
+        tag(field, WIRE_FIXED64);
+        fixed64(Double.doubleToRawLongBits(value));
+    }
+
+    private void writeStringValue(String value) {
+        int length = utf8Length(value);
+        varint(length);
+        ensure(length);
+        if (length == value.length()) {
+            // Every char is one byte here: ASCII, or a lone surrogate that encodes as '?'.
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                buf[pos++] = c < 0x80 ? (byte) c : (byte) '?';
+            }
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >>> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buf[pos++] = (byte) (0xF0 | (codePoint >>> 18));
+                buf[pos++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+                buf[pos++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = (byte) '?';
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >>> 12));
+                buf[pos++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+    }
+
+    private void fixed64(long value) {
+        ensure(8);
+        for (int i = 0; i < 8; i++) {
+            buf[pos++] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    private void ensure(int extra) {
+        if (pos + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+        }
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,486 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.logs.LogRecordBuilder;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Continuous profiler built on JFR execution and allocation sampling. Samples are folded into
+ * per-interval stack profiles keyed by the span that was active on the sampled thread, and each
+ * profile row is emitted as an OTLP log record carrying that span's trace context. Rows go through
+ * a logger provider of their own, sized for one interval, so the burst at each interval boundary
+ * cannot crowd application logs out of their export queue.
+ *
+ * <p>Span activity is not visible to JFR, so a small custom event is committed whenever a thread
+ * switches span; the ordered stream replays those alongside the samples to know which span each
+ * thread was running when it was sampled. Switches come from a {@link ContextStorage} wrapper
+ * (context attach and scope close) when it can be installed, and otherwise from span start/end
+ * via {@link #spanProcessor()}.
+ *
+ * <p>Profiles are aggregated per stack, so the stack cap is not spent on span/stack combinations;
+ * each stack keeps an approximate top-N of the spans it was sampled under.
+ */
+final class Profiler implements AutoCloseable {
+    private static final String ACTIVATION_EVENT = "com.optic.SpanActivation";
+    private static final int MAX_STACK_DEPTH = 64;
+    private static final String TRUNCATED_STACK = "[truncated]";
+    private static final int MAX_SPANS_PER_STACK = 8;
+
+    private static final AttributeKey<String> PROFILE_TYPE = AttributeKey.stringKey("profile.type");
+    private static final AttributeKey<String> PROFILE_FORMAT = AttributeKey.stringKey("profile.format");
+    private static final AttributeKey<Long> PROFILE_SAMPLES = AttributeKey.longKey("profile.sample.count");
+    private static final AttributeKey<Long> PROFILE_WEIGHT = AttributeKey.longKey("profile.sample.weight");
+    private static final AttributeKey<String> PROFILE_WEIGHT_UNIT = AttributeKey.stringKey("profile.sample.unit");
+    private static final AttributeKey<Long> PROFILE_START = AttributeKey.longKey("profile.start_time_unix_nano");
+    private static final AttributeKey<Long> PROFILE_DURATION = AttributeKey.longKey("profile.duration_nanos");
+    private static final AttributeKey<List<String>> PROFILE_TRACE_IDS = AttributeKey.stringArrayKey("profile.trace_ids");
+    private static final AttributeKey<List<String>> PROFILE_SPAN_IDS = AttributeKey.stringArrayKey("profile.span_ids");
+    private static final AttributeKey<List<Long>> PROFILE_SPAN_SAMPLES = AttributeKey.longArrayKey("profile.span_sample_counts");
+
+    // Lets the context wrapper skip all work unless a profiler stream is consuming activations.
+    private static volatile boolean tracking;
+    private static boolean contextWrapped;
+
+    private final SdkLoggerProvider logs;
+    private final Logger logger;
+    private final Duration interval;
+    private final int maxStacks;
+    private final RecordingStream stream;
+
+    // activeSpans is only touched from the JFR stream thread; profile is also drained by close().
+    private final Map<Long, ActiveSpan> activeSpans = new HashMap<>();
+    private final Map<ProfileKey, StackProfile> profile = new HashMap<>();
+    private long intervalStartNanos;
+
+    private Profiler(SdkLoggerProvider logs, Duration interval, int maxStacks, RecordingStream stream) {
+        this.logs = logs;
+        this.logger = logs.loggerBuilder("optic-profiler").build();
+        this.interval = interval;
+        this.maxStacks = maxStacks;
+        this.stream = stream;
+        this.intervalStartNanos = nowEpochNanos();
+    }
+
+    /** Upper bound on records emitted per interval: every tracked stack plus one truncated row per type. */
+    static int maxRowsPerInterval(int maxStacks) {
+        return maxStacks + ProfileType.values().length;
+    }
+
+    /**
+     * Starts profiling into {@code logs}, which the profiler then owns and shuts down on close.
+     *
+     * @return the profiler, or {@code null} when JFR is unavailable (the caller keeps {@code logs})
+     */
+    static Profiler start(SdkLoggerProvider logs, Duration samplePeriod, Duration interval, int maxStacks) {
+        if (!FlightRecorder.isAvailable()) {
+            return null;
+        }
+        RecordingStream rs;
+        try {
+            FlightRecorder.register(SpanActivationEvent.class);
+            rs = new RecordingStream();
+        } catch (RuntimeException unavailable) {
+            return null;
+        }
+        Profiler profiler = new Profiler(logs, interval, maxStacks, rs);
+        rs.setReuse(false);
+        rs.setOrdered(true);
+
+        rs.enable(ACTIVATION_EVENT).withoutStackTrace();
+        rs.onEvent(ACTIVATION_EVENT, profiler::onActivation);
+
+        rs.enable("jdk.ExecutionSample").withPeriod(samplePeriod);
+        rs.onEvent("jdk.ExecutionSample", profiler::onExecutionSample);
+
+        rs.enable("jdk.ObjectAllocationSample").with("throttle", "100/s");
+        rs.onEvent("jdk.ObjectAllocationSample", profiler::onAllocationSample);
+
+        rs.onFlush(profiler::onFlush);
+        rs.startAsync();
+        tracking = true;
+        return profiler;
+    }
+
+    /**
+     * Wraps the global {@link ContextStorage} so context attach/detach reports span switches. Only
+     * takes effect before the storage is first used; otherwise callers fall back to
+     * {@link #spanProcessor()}.
+     *
+     * @return whether context-level tracking is active
+     */
+    static synchronized boolean installContextTracking() {
+        if (!contextWrapped) {
+            ContextStorage.addWrapper(delegate -> {
+                contextWrapped = true;
+                return new ActivationContextStorage(delegate);
+            });
+            // Forces initialization, so the wrapper is either applied now or never.
+            ContextStorage.get();
+        }
+        return contextWrapped;
+    }
+
+    static SpanProcessor spanProcessor() {
+        return new ActivationSpanProcessor();
+    }
+
+    @Override
+    public void close() {
+        tracking = false;
+        stream.close();
+        try {
+            stream.awaitTermination(Duration.ofSeconds(2));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (profile) {
+            emit(nowEpochNanos());
+        }
+        logs.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    private void onActivation(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        if (thread == null) {
+            return;
+        }
+        long threadId = thread.getJavaThreadId();
+        String traceId = event.getString("traceId");
+        String spanId = event.getString("spanId");
+        if (event.getBoolean("start")) {
+            if (spanId == null || spanId.isEmpty()) {
+                activeSpans.remove(threadId);
+            } else {
+                activeSpans.put(threadId, new ActiveSpan(traceId, spanId));
+            }
+            return;
+        }
+        // An ended span is cleared from every thread, including one it was started on and handed
+        // off from; only the ending thread is handed back to the local parent.
+        ActiveSpan current = activeSpans.get(threadId);
+        boolean endingThread = current != null && current.spanId().equals(spanId);
+        activeSpans.values().removeIf(span -> span.spanId().equals(spanId));
+        String parentSpanId = event.getString("parentSpanId");
+        if (endingThread && parentSpanId != null && !parentSpanId.isEmpty()) {
+            activeSpans.put(threadId, new ActiveSpan(traceId, parentSpanId));
+        }
+    }
+
+    private void onExecutionSample(RecordedEvent event) {
+        RecordedThread thread = event.getThread("sampledThread");
+        add(ProfileType.CPU, thread, event.getStackTrace(), 1L);
+    }
+
+    private void onAllocationSample(RecordedEvent event) {
+        add(ProfileType.ALLOCATION, event.getThread(), event.getStackTrace(), event.getLong("weight"));
+    }
+
+    private void add(ProfileType type, RecordedThread thread, RecordedStackTrace stackTrace, long weight) {
+        if (stackTrace == null) {
+            return;
+        }
+        ActiveSpan span = thread == null ? null : activeSpans.get(thread.getJavaThreadId());
+        synchronized (profile) {
+            ProfileKey key = new ProfileKey(type, fold(stackTrace));
+            StackProfile stack = profile.get(key);
+            if (stack == null) {
+                if (profile.size() >= maxStacks) {
+                    stack = profile.computeIfAbsent(new ProfileKey(type, TRUNCATED_STACK), k -> new StackProfile());
+                } else {
+                    stack = new StackProfile();
+                    profile.put(key, stack);
+                }
+            }
+            stack.add(span, weight);
+        }
+    }
+
+    private void onFlush() {
+        long now = nowEpochNanos();
+        if (now - intervalStartNanos < interval.toNanos()) {
+            return;
+        }
+        synchronized (profile) {
+            emit(now);
+        }
+    }
+
+    private void emit(long now) {
+        long start = intervalStartNanos;
+        intervalStartNanos = now;
+        for (Map.Entry<ProfileKey, StackProfile> entry : profile.entrySet()) {
+            ProfileKey key = entry.getKey();
+            StackProfile stack = entry.getValue();
+            try {
+                LogRecordBuilder record = logger.logRecordBuilder()
+                        .setTimestamp(now, TimeUnit.NANOSECONDS)
+                        .setSeverity(Severity.INFO)
+                        .setBody(key.stack())
+                        .setAttribute(PROFILE_TYPE, key.type().value)
+                        .setAttribute(PROFILE_FORMAT, "folded")
+                        .setAttribute(PROFILE_SAMPLES, stack.samples)
+                        .setAttribute(PROFILE_WEIGHT, stack.weight)
+                        .setAttribute(PROFILE_WEIGHT_UNIT, key.type().unit)
+                        .setAttribute(PROFILE_START, start)
+                        .setAttribute(PROFILE_DURATION, now - start);
+                if (stack.spanCount > 0) {
+                    stack.attachSpans(record);
+                }
+                record.emit();
+            } catch (RuntimeException ignored) {
+                // Profiling must never take the application down.
+            }
+        }
+        profile.clear();
+    }
+
+    // Folded stack format: root frame first, frames separated by ';'.
+    private static String fold(RecordedStackTrace stackTrace) {
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        int depth = Math.min(frames.size(), MAX_STACK_DEPTH);
+        StringBuilder sb = new StringBuilder(depth * 48);
+        for (int i = depth - 1; i >= 0; i--) {
+            RecordedFrame frame = frames.get(i);
+            if (!frame.isJavaFrame() || frame.getMethod() == null) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append(';');
+            }
+            sb.append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName());
+        }
+        return sb.toString();
+    }
+
+    private static long nowEpochNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    }
+
+    private enum ProfileType {
+        CPU("cpu", "samples"),
+        ALLOCATION("alloc", "bytes");
+
+        private final String value;
+        private final String unit;
+
+        ProfileType(String value, String unit) {
+            this.value = value;
+            this.unit = unit;
+        }
+    }
+
+    private record ActiveSpan(String traceId, String spanId) {
+    }
+
+    private record ProfileKey(ProfileType type, String stack) {
+    }
+
+    /**
+     * Totals for one stack plus its heaviest spans, kept with the Space-Saving algorithm: when the
+     * table is full a new span replaces the smallest entry and inherits its count, so counts are
+     * upper bounds but frequent spans are never lost.
+     */
+    private static final class StackProfile {
+        private long samples;
+        private long weight;
+        private final ActiveSpan[] spans = new ActiveSpan[MAX_SPANS_PER_STACK];
+        private final long[] spanSamples = new long[MAX_SPANS_PER_STACK];
+        private int spanCount;
+
+        private void add(ActiveSpan span, long sampleWeight) {
+            samples++;
+            weight += sampleWeight;
+            if (span == null) {
+                return;
+            }
+            int smallest = 0;
+            for (int i = 0; i < spanCount; i++) {
+                if (spans[i].equals(span)) {
+                    spanSamples[i]++;
+                    return;
+                }
+                if (spanSamples[i] < spanSamples[smallest]) {
+                    smallest = i;
+                }
+            }
+            if (spanCount < spans.length) {
+                spans[spanCount] = span;
+                spanSamples[spanCount++] = 1;
+            } else {
+                spans[smallest] = span;
+                spanSamples[smallest]++;
+            }
+        }
+
+        // The record carries the heaviest span's context; all tracked spans go into attributes.
+        private void attachSpans(LogRecordBuilder record) {
+            Integer[] order = new Integer[spanCount];
+            for (int i = 0; i < spanCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(spanSamples[b], spanSamples[a]));
+            List<String> traceIds = new ArrayList<>(spanCount);
+            List<String> spanIds = new ArrayList<>(spanCount);
+            List<Long> counts = new ArrayList<>(spanCount);
+            for (int i : order) {
+                traceIds.add(spans[i].traceId());
+                spanIds.add(spans[i].spanId());
+                counts.add(spanSamples[i]);
+            }
+            record.setAttribute(PROFILE_TRACE_IDS, traceIds)
+                    .setAttribute(PROFILE_SPAN_IDS, spanIds)
+                    .setAttribute(PROFILE_SPAN_SAMPLES, counts);
+            ActiveSpan top = spans[order[0]];
+            SpanContext spanContext = SpanContext.create(
+                    top.traceId(),
+                    top.spanId(),
+                    TraceFlags.getSampled(),
+                    TraceState.getDefault()
+            );
+            if (spanContext.isValid()) {
+                record.setContext(Context.root().with(Span.wrap(spanContext)));
+            }
+        }
+    }
+
+    @Name(ACTIVATION_EVENT)
+    @Label("Optic Span Activation")
+    @Category("Optic")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class SpanActivationEvent extends Event {
+        @Label("Trace Id")
+        String traceId;
+
+        @Label("Span Id")
+        String spanId;
+
+        @Label("Parent Span Id")
+        String parentSpanId;
+
+        // true: the committing thread switched to spanId (empty for none); false: spanId ended.
+        @Label("Start")
+        boolean start;
+    }
+
+    // Reports that the committing thread now runs the given span (no span when invalid).
+    private static void commitSwitch(SpanContext spanContext) {
+        SpanActivationEvent event = new SpanActivationEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        if (spanContext.isValid()) {
+            event.traceId = spanContext.getTraceId();
+            event.spanId = spanContext.getSpanId();
+        }
+        event.start = true;
+        event.commit();
+    }
+
+    private static SpanContext spanContext(Context context) {
+        return context == null ? SpanContext.getInvalid() : Span.fromContext(context).getSpanContext();
+    }
+
+    private static final class ActivationContextStorage implements ContextStorage {
+        private final ContextStorage delegate;
+
+        private ActivationContextStorage(ContextStorage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Scope attach(Context toAttach) {
+            if (!tracking) {
+                return delegate.attach(toAttach);
+            }
+            SpanContext previous = spanContext(delegate.current());
+            Scope scope = delegate.attach(toAttach);
+            SpanContext next = spanContext(toAttach);
+            if (next.getSpanId().equals(previous.getSpanId())) {
+                return scope;
+            }
+            commitSwitch(next);
+            return () -> {
+                scope.close();
+                commitSwitch(previous);
+            };
+        }
+
+        @Override
+        public Context current() {
+            return delegate.current();
+        }
+
+        @Override
+        public Context root() {
+            return delegate.root();
+        }
+    }
+
+    /** Fallback when the context storage could not be wrapped: a started span counts as running. */
+    private static final class ActivationSpanProcessor implements SpanProcessor {
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+            commitSwitch(span.getSpanContext());
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return true;
+        }
+
+        @Override
+        public void onEnd(ReadableSpan span) {
+            SpanActivationEvent event = new SpanActivationEvent();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            SpanContext spanContext = span.getSpanContext();
+            SpanContext parent = span.getParentSpanContext();
+            event.traceId = spanContext.getTraceId();
+            event.spanId = spanContext.getSpanId();
+            // Hand the thread back to the local parent span, if there is one.
+            if (parent.isValid() && !parent.isRemote()) {
+                event.parentSpanId = parent.getSpanId();
+            }
+            event.start = false;
+            event.commit();
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+    }
+}
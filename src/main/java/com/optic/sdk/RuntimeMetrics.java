@@ -0,0 +1,233 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleCounter;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * JVM runtime instruments for services that do not run the Micrometer/actuator bridge.
+ * Point-in-time values come from MXBeans inside observable callbacks (read only at collection);
+ * GC pauses, allocation, safepoints and monitor contention come from a JFR event stream
+ * configured with throttled/thresholded events to keep overhead low.
+ */
+final class RuntimeMetrics implements AutoCloseable {
+    static final String SCOPE = "optic-runtime";
+    static final String GC_PAUSE_DURATION = "jvm.gc.pause.duration";
+    static final String MONITOR_WAIT_DURATION = "jvm.monitor.wait.duration";
+    // Pauses and contended monitor enters are mostly sub-second; the SDK default buckets assume ms.
+    static final List<Double> DURATION_BUCKETS = List.of(
+            0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0);
+
+    private static final AttributeKey<String> MEMORY_TYPE = AttributeKey.stringKey("jvm.memory.type");
+    private static final AttributeKey<String> GC_NAME = AttributeKey.stringKey("jvm.gc.name");
+    private static final AttributeKey<Boolean> THREAD_DAEMON = AttributeKey.booleanKey("jvm.thread.daemon");
+
+    private static final Attributes HEAP = Attributes.of(MEMORY_TYPE, "heap");
+    private static final Attributes NON_HEAP = Attributes.of(MEMORY_TYPE, "non_heap");
+    private static final Attributes DAEMON = Attributes.of(THREAD_DAEMON, true);
+    private static final Attributes NON_DAEMON = Attributes.of(THREAD_DAEMON, false);
+
+    private static final Duration MONITOR_THRESHOLD = Duration.ofMillis(10);
+    private static final String ALLOCATION_THROTTLE = "100/s";
+
+    private final List<AutoCloseable> observers = new ArrayList<>();
+    private final Map<String, Attributes> gcAttributes = new ConcurrentHashMap<>();
+    private final RecordingStream stream;
+
+    private final DoubleHistogram gcPause;
+    private final LongCounter allocated;
+    private final DoubleCounter safepointTime;
+    private final DoubleHistogram monitorWait;
+
+    RuntimeMetrics(Meter meter) {
+        registerMemory(meter);
+        registerThreads(meter);
+        registerCpu(meter);
+
+        this.gcPause = meter.histogramBuilder(GC_PAUSE_DURATION)
+                .setDescription("Stop-the-world pause time per garbage collection")
+                .setUnit("s")
+                .build();
+        this.allocated = meter.counterBuilder("jvm.memory.allocated")
+                .setDescription("Estimated bytes allocated on the heap, from JFR allocation samples")
+                .setUnit("By")
+                .build();
+        this.safepointTime = meter.counterBuilder("jvm.safepoint.time")
+                .setDescription("Time spent executing VM operations at safepoints")
+                .setUnit("s")
+                .ofDoubles()
+                .build();
+        this.monitorWait = meter.histogramBuilder(MONITOR_WAIT_DURATION)
+                .setDescription("Time blocked entering a contended monitor (events above "
+                        + MONITOR_THRESHOLD.toMillis() + "ms)")
+                .setUnit("s")
+                .build();
+
+        this.stream = startStream();
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+        for (AutoCloseable observer : observers) {
+            try {
+                observer.close();
+            } catch (Exception ignored) {
+                // Instrument callbacks are best effort on shutdown.
+            }
+        }
+        observers.clear();
+    }
+
+    private void registerMemory(Meter meter) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        observers.add(meter.upDownCounterBuilder("jvm.memory.used")
+                .setDescription("Used heap and non-heap memory")
+                .setUnit("By")
+                .buildWithCallback(measurement -> {
+                    measurement.record(memory.getHeapMemoryUsage().getUsed(), HEAP);
+                    measurement.record(memory.getNonHeapMemoryUsage().getUsed(), NON_HEAP);
+                }));
+        observers.add(meter.upDownCounterBuilder("jvm.memory.committed")
+                .setDescription("Committed heap and non-heap memory")
+                .setUnit("By")
+                .buildWithCallback(measurement -> {
+                    measurement.record(memory.getHeapMemoryUsage().getCommitted(), HEAP);
+                    measurement.record(memory.getNonHeapMemoryUsage().getCommitted(), NON_HEAP);
+                }));
+        observers.add(meter.upDownCounterBuilder("jvm.memory.limit")
+                .setDescription("Maximum heap and non-heap memory, when defined")
+                .setUnit("By")
+                .buildWithCallback(measurement -> {
+                    recordIfDefined(measurement, memory.getHeapMemoryUsage(), HEAP);
+                    recordIfDefined(measurement, memory.getNonHeapMemoryUsage(), NON_HEAP);
+                }));
+    }
+
+    private void registerThreads(Meter meter) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        observers.add(meter.upDownCounterBuilder("jvm.thread.count")
+                .setDescription("Live threads")
+                .setUnit("{thread}")
+                .buildWithCallback(measurement -> {
+                    int live = threads.getThreadCount();
+                    int daemon = threads.getDaemonThreadCount();
+                    measurement.record(daemon, DAEMON);
+                    measurement.record(Math.max(0, live - daemon), NON_DAEMON);
+                }));
+    }
+
+    private void registerCpu(Meter meter) {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        observers.add(meter.upDownCounterBuilder("jvm.cpu.count")
+                .setDescription("Processors available to the JVM")
+                .setUnit("{cpu}")
+                .buildWithCallback(measurement -> measurement.record(Runtime.getRuntime().availableProcessors())));
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            observers.add(meter.counterBuilder("jvm.cpu.time")
+                    .setDescription("CPU time used by the process")
+                    .setUnit("s")
+                    .ofDoubles()
+                    .buildWithCallback(measurement -> {
+                        long nanos = sunOs.getProcessCpuTime();
+                        if (nanos >= 0) {
+                            measurement.record(nanos / 1e9);
+                        }
+                    }));
+            observers.add(meter.gaugeBuilder("jvm.cpu.recent_utilization")
+                    .setDescription("Recent CPU utilization of the process (0..1)")
+                    .setUnit("1")
+                    .buildWithCallback(measurement -> {
+                        double load = sunOs.getProcessCpuLoad();
+                        if (load >= 0) {
+                            measurement.record(load);
+                        }
+                    }));
+        }
+    }
+
+    private RecordingStream startStream() {
+        if (!FlightRecorder.isAvailable()) {
+            return null;
+        }
+        RecordingStream rs;
+        try {
+            rs = new RecordingStream();
+        } catch (RuntimeException unavailable) {
+            return null;
+        }
+        rs.setReuse(true);
+        rs.setOrdered(false);
+
+        rs.enable("jdk.GarbageCollection");
+        rs.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+
+        // Only the weight is read, so skip the stack walk JFR would otherwise do on the allocating thread.
+        rs.enable("jdk.ObjectAllocationSample").with("throttle", ALLOCATION_THROTTLE).withoutStackTrace();
+        rs.onEvent("jdk.ObjectAllocationSample", this::onAllocationSample);
+
+        rs.enable("jdk.ExecuteVMOperation").withoutStackTrace();
+        rs.onEvent("jdk.ExecuteVMOperation", this::onVmOperation);
+
+        rs.enable("jdk.JavaMonitorEnter").withThreshold(MONITOR_THRESHOLD).withoutStackTrace();
+        rs.onEvent("jdk.JavaMonitorEnter", this::onMonitorEnter);
+
+        rs.startAsync();
+        return rs;
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        String name = event.getString("name");
+        Attributes attrs = gcAttributes.computeIfAbsent(
+                name == null ? "unknown" : name,
+                key -> Attributes.of(GC_NAME, key)
+        );
+        gcPause.record(toSeconds(event.getDuration("sumOfPauses")), attrs);
+    }
+
+    private void onAllocationSample(RecordedEvent event) {
+        long weight = event.getLong("weight");
+        if (weight > 0) {
+            allocated.add(weight);
+        }
+    }
+
+    private void onVmOperation(RecordedEvent event) {
+        if (event.getBoolean("safepoint")) {
+            safepointTime.add(toSeconds(event.getDuration()));
+        }
+    }
+
+    private void onMonitorEnter(RecordedEvent event) {
+        monitorWait.record(toSeconds(event.getDuration()));
+    }
+
+    private static void recordIfDefined(ObservableLongMeasurement measurement, MemoryUsage usage, Attributes attrs) {
+        if (usage.getMax() >= 0) {
+            measurement.record(usage.getMax(), attrs);
+        }
+    }
+
+    private static double toSeconds(Duration duration) {
+        return duration.getSeconds() + duration.getNano() / 1e9;
+    }
+}
@@ -44,8 +44,8 @@ public class OpticAutoConfiguration {
     @ConditionalOnProperty(prefix = "optic", name = "enable-logs", havingValue = "true", matchIfMissing = true)
     @ConditionalOnClass(name = {"ch.qos.logback.classic.LoggerContext", "org.slf4j.LoggerFactory"})
     @ConditionalOnMissingBean(name = "opticLogbackBridge")
-    public AutoCloseable opticLogbackBridge(Optic optic) {
-        return new OpticLogbackBridge(optic);
+    public AutoCloseable opticLogbackBridge(Optic optic, OpticProperties properties) {
+        return new OpticLogbackBridge(optic, properties);
     }
 
     private static OpticConfig buildConfig(OpticProperties properties, Environment environment) {
@@ -69,7 +69,16 @@ public class OpticAutoConfiguration {
         config.setEnableTraces(properties.isEnableTraces());
         config.setEnableMetrics(properties.isEnableMetrics());
         config.setEnableLogs(properties.isEnableLogs());
+        config.setEnableRuntimeMetrics(properties.isEnableRuntimeMetrics());
+        config.setEnableProfiling(properties.isEnableProfiling());
+        config.setPooledExport(properties.isPooledExport());
+        config.setUnifiedExportScheduler(properties.isUnifiedExportScheduler());
+        config.setProfilingSamplePeriod(properties.getProfilingSamplePeriod());
+        config.setProfilingInterval(properties.getProfilingInterval());
+        config.setProfilingMaxStacks(properties.getProfilingMaxStacks());
         config.setExportInterval(properties.getExportInterval());
+        config.setExemplarFilter(properties.getExemplarFilter());
+        config.setExemplarReservoirSize(properties.getExemplarReservoirSize());
 
         if (!hasText(config.getServiceName())) {
             config.setServiceName(environment.getProperty("spring.application.name", ""));
@@ -0,0 +1,258 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Derives counters/histograms from Logback events before they are exported. Counters are
+ * {@link LongAdder} cells read by observable instruments at collection time, so the logging
+ * thread only pays for a map lookup and a striped increment.
+ */
+final class OpticLogMetrics implements AutoCloseable {
+    private static final AttributeKey<String> LOG_LEVEL = AttributeKey.stringKey("log.level");
+    private static final AttributeKey<String> LOGGER_NAME = AttributeKey.stringKey("logger.name");
+    private static final AttributeKey<String> EXCEPTION_TYPE = AttributeKey.stringKey("exception.type");
+    private static final String OVERFLOW = "_other";
+
+    private final List<Rule> rules;
+    private final List<AutoCloseable> instruments = new ArrayList<>();
+
+    OpticLogMetrics(Meter meter, List<OpticProperties.LogMetricRule> configured) {
+        List<Rule> built = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        if (configured != null) {
+            for (OpticProperties.LogMetricRule rule : configured) {
+                if (rule != null) {
+                    // Two observable counters with one name would report the same series and the SDK
+                    // keeps only one of them, so each rule needs its own instrument name.
+                    String name = Rule.instrumentName(rule);
+                    if (!names.add(name)) {
+                        throw new IllegalArgumentException(
+                                "log metric name is used by more than one rule, set a distinct name: " + name);
+                    }
+                    built.add(new Rule(meter, rule, name, instruments));
+                }
+            }
+        }
+        this.rules = List.copyOf(built);
+    }
+
+    boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Records the event against every matching rule.
+     *
+     * @return whether the raw log record should still be exported
+     */
+    boolean record(ILoggingEvent event, String loggerName) {
+        boolean matched = false;
+        boolean export = false;
+        for (Rule rule : rules) {
+            if (rule.record(event, loggerName)) {
+                matched = true;
+                export |= rule.exportRecord;
+            }
+        }
+        return !matched || export;
+    }
+
+    @Override
+    public void close() {
+        for (AutoCloseable instrument : instruments) {
+            try {
+                instrument.close();
+            } catch (Exception ignored) {
+                // Instrument callbacks are best effort on shutdown.
+            }
+        }
+        instruments.clear();
+    }
+
+    enum GroupBy {
+        LEVEL_LOGGER,
+        EXCEPTION_TYPE,
+        MDC
+    }
+
+    private static final class Rule {
+        private final GroupBy groupBy;
+        private final Level minLevel;
+        private final String loggerPrefix;
+        private final String mdcKey;
+        private final String valueMdcKey;
+        private final boolean exportRecord;
+        private final int maxSeries;
+        private final AttributeKey<String> mdcAttribute;
+
+        // level -> dimension value -> series; two-level so a hit does not allocate a key.
+        private final ConcurrentMap<String, ConcurrentMap<String, Series>> series = new ConcurrentHashMap<>();
+        private final AtomicInteger seriesCount = new AtomicInteger();
+        private final DoubleHistogram histogram;
+
+        private Rule(Meter meter, OpticProperties.LogMetricRule config, String name, List<AutoCloseable> instruments) {
+            this.groupBy = parseGroupBy(config.getGroupBy());
+            this.minLevel = parseLevel(config.getLevel());
+            this.loggerPrefix = safe(config.getLoggerPrefix());
+            this.mdcKey = safe(config.getMdcKey());
+            this.valueMdcKey = safe(config.getValueMdcKey());
+            this.exportRecord = config.isExportRecord();
+            this.maxSeries = Math.max(1, config.getMaxSeries());
+            this.mdcAttribute = AttributeKey.stringKey("log.mdc." + mdcKey);
+
+            if (groupBy == GroupBy.MDC && mdcKey.isEmpty()) {
+                throw new IllegalArgumentException("log metric rule grouped by MDC requires mdc-key");
+            }
+
+            if (valueMdcKey.isEmpty()) {
+                this.histogram = null;
+                instruments.add(meter.counterBuilder(name)
+                        .setDescription("Log events matched by Optic log metric rule")
+                        .setUnit("{event}")
+                        .buildWithCallback(measurement -> {
+                            for (Map<String, Series> byValue : series.values()) {
+                                for (Series s : byValue.values()) {
+                                    measurement.record(s.count.sum(), s.attributes);
+                                }
+                            }
+                        }));
+            } else {
+                this.histogram = meter.histogramBuilder(name)
+                        .setDescription("Values of MDC key " + valueMdcKey + " on matching log events")
+                        .build();
+            }
+        }
+
+        private boolean record(ILoggingEvent event, String loggerName) {
+            Level level = event.getLevel() == null ? Level.INFO : event.getLevel();
+            if (!level.isGreaterOrEqual(minLevel)) {
+                return false;
+            }
+            if (!loggerPrefix.isEmpty() && !loggerName.startsWith(loggerPrefix)) {
+                return false;
+            }
+
+            String dimension;
+            switch (groupBy) {
+                case EXCEPTION_TYPE -> {
+                    IThrowableProxy throwable = event.getThrowableProxy();
+                    if (throwable == null) {
+                        return false;
+                    }
+                    dimension = safe(throwable.getClassName());
+                }
+                case MDC -> {
+                    Map<String, String> mdc = event.getMDCPropertyMap();
+                    dimension = mdc == null ? "" : safe(mdc.get(mdcKey));
+                    if (dimension.isEmpty()) {
+                        return false;
+                    }
+                }
+                default -> dimension = loggerName;
+            }
+
+            Series s = series(level.levelStr, dimension);
+            if (histogram == null) {
+                s.count.increment();
+            } else {
+                Map<String, String> mdc = event.getMDCPropertyMap();
+                String raw = mdc == null ? null : mdc.get(valueMdcKey);
+                if (raw == null) {
+                    return true;
+                }
+                try {
+                    histogram.record(Double.parseDouble(raw.trim()), s.attributes);
+                } catch (NumberFormatException ignored) {
+                    // Non-numeric values still count as a match; they just carry no measurement.
+                }
+            }
+            return true;
+        }
+
+        private Series series(String level, String dimension) {
+            ConcurrentMap<String, Series> byValue = series.computeIfAbsent(level, k -> new ConcurrentHashMap<>());
+            Series existing = byValue.get(dimension);
+            if (existing != null) {
+                return existing;
+            }
+            // Bound cardinality: once the cap is hit, new values fold into a single overflow series.
+            String key = seriesCount.get() >= maxSeries ? OVERFLOW : dimension;
+            return byValue.computeIfAbsent(key, value -> {
+                seriesCount.incrementAndGet();
+                return new Series(attributes(level, value));
+            });
+        }
+
+        private Attributes attributes(String level, String value) {
+            return switch (groupBy) {
+                case EXCEPTION_TYPE -> Attributes.of(LOG_LEVEL, level, EXCEPTION_TYPE, value);
+                case MDC -> Attributes.of(LOG_LEVEL, level, mdcAttribute, value);
+                default -> Attributes.of(LOG_LEVEL, level, LOGGER_NAME, value);
+            };
+        }
+
+        private static String instrumentName(OpticProperties.LogMetricRule config) {
+            String name = safe(config.getName());
+            if (!name.isEmpty()) {
+                return name;
+            }
+            return parseGroupBy(config.getGroupBy()) == GroupBy.EXCEPTION_TYPE ? "log.exceptions" : "log.records";
+        }
+
+        // A typo must not silently become TRACE: with export-record=false that would drop every record.
+        private static Level parseLevel(String raw) {
+            String normalized = safe(raw);
+            if (normalized.isEmpty()) {
+                return Level.TRACE;
+            }
+            Level level = Level.toLevel(normalized, null);
+            if (level == null || level == Level.ALL || level == Level.OFF) {
+                throw new IllegalArgumentException(
+                        "log metric level must be one of TRACE, DEBUG, INFO, WARN, ERROR: " + raw);
+            }
+            return level;
+        }
+
+        private static GroupBy parseGroupBy(String raw) {
+            String normalized = safe(raw).toUpperCase(Locale.ROOT).replace('-', '_');
+            if (normalized.isEmpty()) {
+                return GroupBy.LEVEL_LOGGER;
+            }
+            try {
+                return GroupBy.valueOf(normalized);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "log metric group-by must be one of level_logger, exception_type, mdc: " + raw);
+            }
+        }
+    }
+
+    private static final class Series {
+        private final Attributes attributes;
+        private final LongAdder count = new LongAdder();
+
+        private Series(Attributes attributes) {
+            this.attributes = attributes;
+        }
+    }
+
+    private static String safe(String value) {
+        return value == null ? "" : value.trim();
+    }
+}
@@ -16,9 +16,13 @@ import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.TraceFlags;
 import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
 
 final class OpticLogbackBridge implements AutoCloseable {
     private static final String APPENDER_NAME = "OPTIC_OTEL_APPENDER";
@@ -26,15 +30,21 @@ final class OpticLogbackBridge implements AutoCloseable {
 
     private final ch.qos.logback.classic.Logger rootLogger;
     private final OpticLogbackAppender appender;
+    private final OpticLogMetrics logMetrics;
 
-    OpticLogbackBridge(Optic optic) {
+    OpticLogbackBridge(Optic optic, OpticProperties properties) {
         Object factory = LoggerFactory.getILoggerFactory();
         if (!(factory instanceof LoggerContext context)) {
             throw new IllegalStateException("Logback LoggerContext not available");
         }
 
         this.rootLogger = context.getLogger(ROOT_LOGGER);
-        this.appender = new OpticLogbackAppender(optic.logger("optic-logback-bridge"));
+        this.logMetrics = new OpticLogMetrics(optic.meter("optic-logback-bridge"), properties.getLogMetrics());
+        this.appender = new OpticLogbackAppender(
+                optic.logger("optic-logback-bridge"),
+                logMetrics,
+                MessageMode.parse(properties.getLogMessageMode())
+        );
         this.appender.setName(APPENDER_NAME);
         this.appender.setContext(context);
         this.appender.start();
@@ -47,13 +57,44 @@ final class OpticLogbackBridge implements AutoCloseable {
             rootLogger.detachAppender(appender);
             appender.stop();
         }
+        if (logMetrics != null) {
+            logMetrics.close();
+        }
+    }
+
+    enum MessageMode {
+        FORMATTED,
+        TEMPLATE;
+
+        static MessageMode parse(String raw) {
+            String normalized = raw == null ? "" : raw.trim().toUpperCase(Locale.ROOT);
+            if (normalized.isEmpty()) {
+                return FORMATTED;
+            }
+            try {
+                return MessageMode.valueOf(normalized);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("log-message-mode must be one of formatted, template: " + raw);
+            }
+        }
     }
 
     private static final class OpticLogbackAppender extends AppenderBase<ILoggingEvent> {
+        private static final int MAX_TEMPLATES = 4096;
+        private static final int CACHED_ARG_KEYS = 16;
+        private static final String ARG_PREFIX = "log.arg.";
+        private static final String KV_PREFIX = "log.kv.";
+        private static final String[] ARG_KEYS = argKeys();
+
         private final Logger otelLogger;
+        private final OpticLogMetrics logMetrics;
+        private final MessageMode messageMode;
+        private final Map<String, String> templates = new ConcurrentHashMap<>();
 
-        private OpticLogbackAppender(Logger otelLogger) {
+        private OpticLogbackAppender(Logger otelLogger, OpticLogMetrics logMetrics, MessageMode messageMode) {
             this.otelLogger = otelLogger;
+            this.logMetrics = logMetrics;
+            this.messageMode = messageMode;
         }
 
         @Override
@@ -68,7 +109,19 @@ final class OpticLogbackBridge implements AutoCloseable {
                 return;
             }
 
-            String message = safe(event.getFormattedMessage());
+            if (!logMetrics.isEmpty()) {
+                try {
+                    if (!logMetrics.record(event, loggerName)) {
+                        return;
+                    }
+                } catch (RuntimeException ignored) {
+                    // Metric derivation must not stop the record from being exported.
+                }
+            }
+
+            // Template mode never formats: the pattern is the body and arguments become attributes.
+            boolean template = messageMode == MessageMode.TEMPLATE;
+            String message = template ? intern(safe(event.getMessage())) : safe(event.getFormattedMessage());
             if (message.isEmpty()) {
                 return;
             }
@@ -81,6 +134,11 @@ final class OpticLogbackBridge implements AutoCloseable {
                         .setAttribute(AttributeKey.stringKey("logger.name"), loggerName)
                         .setAttribute(AttributeKey.stringKey("thread.name"), safe(event.getThreadName()));
 
+                if (template) {
+                    setArguments(record, event.getArgumentArray());
+                    setKeyValuePairs(record, event.getKeyValuePairs());
+                }
+
                 Context ctx = contextFromEvent(event);
                 if (ctx != null) {
                     record.setContext(ctx);
@@ -113,6 +171,69 @@ final class OpticLogbackBridge implements AutoCloseable {
             }
         }
 
+        // Canonicalizes repeated templates to one instance; bounded so dynamic messages cannot grow it.
+        private String intern(String template) {
+            String cached = templates.get(template);
+            if (cached != null) {
+                return cached;
+            }
+            if (templates.size() >= MAX_TEMPLATES) {
+                return template;
+            }
+            String previous = templates.putIfAbsent(template, template);
+            return previous == null ? template : previous;
+        }
+
+        private static void setArguments(LogRecordBuilder record, Object[] args) {
+            if (args == null) {
+                return;
+            }
+            for (int i = 0; i < args.length; i++) {
+                setTyped(record, argKey(i), args[i]);
+            }
+        }
+
+        private static void setKeyValuePairs(LogRecordBuilder record, List<KeyValuePair> pairs) {
+            if (pairs == null || pairs.isEmpty()) {
+                return;
+            }
+            for (KeyValuePair pair : pairs) {
+                String key = safe(pair.key);
+                if (!key.isEmpty()) {
+                    setTyped(record, KV_PREFIX + key, pair.value);
+                }
+            }
+        }
+
+        private static void setTyped(LogRecordBuilder record, String key, Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                record.setAttribute(AttributeKey.stringKey(key), text);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                record.setAttribute(AttributeKey.longKey(key), ((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                record.setAttribute(AttributeKey.doubleKey(key), ((Number) value).doubleValue());
+            } else if (value instanceof Boolean flag) {
+                record.setAttribute(AttributeKey.booleanKey(key), flag);
+            } else {
+                record.setAttribute(AttributeKey.stringKey(key), String.valueOf(value));
+            }
+        }
+
+        private static String[] argKeys() {
+            String[] keys = new String[CACHED_ARG_KEYS];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = ARG_PREFIX + i;
+            }
+            return keys;
+        }
+
+        private static String argKey(int index) {
+            return index < CACHED_ARG_KEYS ? ARG_KEYS[index] : ARG_PREFIX + index;
+        }
+
         private static String extractStackTrace(IThrowableProxy proxy) {
             StringBuilder sb = new StringBuilder();
             appendThrowable(sb, proxy, "");
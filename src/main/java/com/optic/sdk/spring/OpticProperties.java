@@ -1,6 +1,8 @@
 package com.optic.sdk.spring;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 @ConfigurationProperties(prefix = "optic")
@@ -14,7 +16,18 @@ public class OpticProperties {
     private boolean enableTraces = true;
     private boolean enableMetrics = true;
     private boolean enableLogs = true;
+    private boolean enableRuntimeMetrics = false;
+    private boolean enableProfiling = false;
+    private boolean pooledExport = false;
+    private boolean unifiedExportScheduler = false;
+    private Duration profilingSamplePeriod = Duration.ofMillis(20);
+    private Duration profilingInterval = Duration.ofSeconds(60);
+    private int profilingMaxStacks = 2000;
     private Duration exportInterval = Duration.ofSeconds(10);
+    private String exemplarFilter = "trace_based";
+    private int exemplarReservoirSize = 17;
+    private String logMessageMode = "formatted";
+    private List<LogMetricRule> logMetrics = new ArrayList<>();
 
     public boolean isEnabled() {
         return enabled;
@@ -88,6 +101,62 @@ public class OpticProperties {
         this.enableLogs = enableLogs;
     }
 
+    public boolean isEnableRuntimeMetrics() {
+        return enableRuntimeMetrics;
+    }
+
+    public void setEnableRuntimeMetrics(boolean enableRuntimeMetrics) {
+        this.enableRuntimeMetrics = enableRuntimeMetrics;
+    }
+
+    public boolean isEnableProfiling() {
+        return enableProfiling;
+    }
+
+    public void setEnableProfiling(boolean enableProfiling) {
+        this.enableProfiling = enableProfiling;
+    }
+
+    public boolean isPooledExport() {
+        return pooledExport;
+    }
+
+    public void setPooledExport(boolean pooledExport) {
+        this.pooledExport = pooledExport;
+    }
+
+    public boolean isUnifiedExportScheduler() {
+        return unifiedExportScheduler;
+    }
+
+    public void setUnifiedExportScheduler(boolean unifiedExportScheduler) {
+        this.unifiedExportScheduler = unifiedExportScheduler;
+    }
+
+    public Duration getProfilingSamplePeriod() {
+        return profilingSamplePeriod;
+    }
+
+    public void setProfilingSamplePeriod(Duration profilingSamplePeriod) {
+        this.profilingSamplePeriod = profilingSamplePeriod;
+    }
+
+    public Duration getProfilingInterval() {
+        return profilingInterval;
+    }
+
+    public void setProfilingInterval(Duration profilingInterval) {
+        this.profilingInterval = profilingInterval;
+    }
+
+    public int getProfilingMaxStacks() {
+        return profilingMaxStacks;
+    }
+
+    public void setProfilingMaxStacks(int profilingMaxStacks) {
+        this.profilingMaxStacks = profilingMaxStacks;
+    }
+
     public Duration getExportInterval() {
         return exportInterval;
     }
@@ -95,4 +164,111 @@ public class OpticProperties {
     public void setExportInterval(Duration exportInterval) {
         this.exportInterval = exportInterval;
     }
+
+    public String getExemplarFilter() {
+        return exemplarFilter;
+    }
+
+    public void setExemplarFilter(String exemplarFilter) {
+        this.exemplarFilter = exemplarFilter;
+    }
+
+    public int getExemplarReservoirSize() {
+        return exemplarReservoirSize;
+    }
+
+    public void setExemplarReservoirSize(int exemplarReservoirSize) {
+        this.exemplarReservoirSize = exemplarReservoirSize;
+    }
+
+    public String getLogMessageMode() {
+        return logMessageMode;
+    }
+
+    public void setLogMessageMode(String logMessageMode) {
+        this.logMessageMode = logMessageMode;
+    }
+
+    public List<LogMetricRule> getLogMetrics() {
+        return logMetrics;
+    }
+
+    public void setLogMetrics(List<LogMetricRule> logMetrics) {
+        this.logMetrics = logMetrics;
+    }
+
+    public static class LogMetricRule {
+        private String name;
+        private String groupBy = "level_logger";
+        private String level = "TRACE";
+        private String loggerPrefix;
+        private String mdcKey;
+        private String valueMdcKey;
+        private boolean exportRecord = true;
+        private int maxSeries = 1000;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getGroupBy() {
+            return groupBy;
+        }
+
+        public void setGroupBy(String groupBy) {
+            this.groupBy = groupBy;
+        }
+
+        public String getLevel() {
+            return level;
+        }
+
+        public void setLevel(String level) {
+            this.level = level;
+        }
+
+        public String getLoggerPrefix() {
+            return loggerPrefix;
+        }
+
+        public void setLoggerPrefix(String loggerPrefix) {
+            this.loggerPrefix = loggerPrefix;
+        }
+
+        public String getMdcKey() {
+            return mdcKey;
+        }
+
+        public void setMdcKey(String mdcKey) {
+            this.mdcKey = mdcKey;
+        }
+
+        public String getValueMdcKey() {
+            return valueMdcKey;
+        }
+
+        public void setValueMdcKey(String valueMdcKey) {
+            this.valueMdcKey = valueMdcKey;
+        }
+
+        public boolean isExportRecord() {
+            return exportRecord;
+        }
+
+        public void setExportRecord(boolean exportRecord) {
+            this.exportRecord = exportRecord;
+        }
+
+        public int getMaxSeries() {
+            return maxSeries;
+        }
+
+        public void setMaxSeries(int maxSeries) {
+            this.maxSeries = maxSeries;
+        }
+    }
 }
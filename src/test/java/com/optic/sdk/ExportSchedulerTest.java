@@ -0,0 +1,266 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.management.OperatingSystemMXBean;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs on whichever thread mode the JVM supports; on Java 17 that is the platform-thread fallback.
+ */
+class ExportSchedulerTest {
+    private ExportScheduler scheduler;
+    private Thread producer;
+    private final AtomicBoolean producing = new AtomicBoolean(true);
+
+    @BeforeEach
+    void start() {
+        scheduler = new ExportScheduler();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        producing.set(false);
+        if (producer != null) {
+            producer.join(5_000);
+        }
+        scheduler.close();
+    }
+
+    @Test
+    void forceFlushReturnsWhileProducersOutpaceTheExporter() throws Exception {
+        RecordingLogExporter exporter = new RecordingLogExporter(logs -> {
+            sleep(20);
+            return CompletableResultCode.ofSuccess();
+        });
+        SdkLoggerProvider provider = logProvider(exporter);
+        flood(provider.get("test"));
+
+        // The scheduler flushes on the calling thread, so bound the call itself, not just the result.
+        CompletableFuture<CompletableResultCode> flush = CompletableFuture.supplyAsync(
+                () -> provider.forceFlush().join(10, TimeUnit.SECONDS));
+        CompletableResultCode flushed;
+        try {
+            flushed = flush.get(10, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            producing.set(false);
+            throw new AssertionError("forceFlush did not return under sustained load", e);
+        }
+
+        assertTrue(flushed.isDone());
+        assertTrue(flushed.isSuccess());
+    }
+
+    @Test
+    void forceFlushReportsExportFailure() {
+        SdkLoggerProvider provider = logProvider(new RecordingLogExporter(logs -> CompletableResultCode.ofFailure()));
+        provider.get("test").logRecordBuilder().setBody("x").emit();
+
+        CompletableResultCode flushed = provider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        assertTrue(flushed.isDone());
+        assertFalse(flushed.isSuccess());
+    }
+
+    @Test
+    void recordsAfterShutdownAreRejected() {
+        RecordingLogExporter exporter = new RecordingLogExporter(logs -> CompletableResultCode.ofSuccess());
+        SdkLoggerProvider provider = logProvider(exporter);
+        Logger logger = provider.get("test");
+        logger.logRecordBuilder().setBody("before").emit();
+        provider.shutdown().join(5, TimeUnit.SECONDS);
+        int exported = exporter.records.get();
+
+        logger.logRecordBuilder().setBody("after").emit();
+        provider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        assertEquals(1, exported);
+        assertEquals(exported, exporter.records.get());
+    }
+
+    @Test
+    void atMostOneExportInFlightPerSignal() throws InterruptedException {
+        RecordingLogExporter exporter = new RecordingLogExporter(logs -> {
+            sleep(2);
+            return CompletableResultCode.ofSuccess();
+        });
+        SdkLoggerProvider provider = logProvider(exporter);
+        flood(provider.get("test"));
+
+        // Concurrent flush callers race the driver for the same signal.
+        Thread[] flushers = new Thread[4];
+        for (int i = 0; i < flushers.length; i++) {
+            flushers[i] = new Thread(() -> {
+                for (int j = 0; j < 20; j++) {
+                    provider.forceFlush().join(5, TimeUnit.SECONDS);
+                }
+            });
+            flushers[i].start();
+        }
+        for (Thread flusher : flushers) {
+            flusher.join(30_000);
+        }
+
+        assertTrue(exporter.calls.get() > 0);
+        assertEquals(1, exporter.maxConcurrent.get());
+    }
+
+    @Test
+    void metricsStayOnScheduleDuringLogFlood() throws InterruptedException {
+        SdkLoggerProvider logs = logProvider(new RecordingLogExporter(batch -> {
+            sleep(5);
+            return CompletableResultCode.ofSuccess();
+        }));
+        CountingMetricExporter metrics = new CountingMetricExporter();
+        SdkMeterProvider meterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(scheduler.metricReader(metrics, Duration.ofMillis(200)))
+                .build();
+        meterProvider.get("test").counterBuilder("c").build().add(1);
+        flood(logs.get("test"));
+
+        Thread.sleep(2_000);
+
+        // ~10 intervals elapsed; allow slack for slow CI hosts but not for starvation.
+        assertTrue(metrics.exports.get() >= 6, "metric exports during flood: " + metrics.exports.get());
+    }
+
+    @Test
+    void driverDoesNotSpinWhileAnExportIsBlocked() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        SdkLoggerProvider provider = logProvider(new RecordingLogExporter(logs -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableResultCode.ofSuccess();
+        }));
+        Logger logger = provider.get("test");
+        for (int i = 0; i < 600; i++) {
+            logger.logRecordBuilder().setBody("x").emit();
+        }
+        Thread.sleep(200);
+        for (int i = 0; i < 600; i++) {
+            logger.logRecordBuilder().setBody("x").emit();
+        }
+
+        OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuBefore = os.getProcessCpuTime();
+        Thread.sleep(1_000);
+        long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+        release.countDown();
+
+        assertTrue(cpuNanos < TimeUnit.MILLISECONDS.toNanos(300), "CPU while blocked: " + cpuNanos / 1_000_000 + "ms");
+    }
+
+    private SdkLoggerProvider logProvider(LogRecordExporter exporter) {
+        return SdkLoggerProvider.builder()
+                .addLogRecordProcessor(scheduler.logRecordProcessor(exporter))
+                .build();
+    }
+
+    // Returns once the first record is queued, so assertions never race the producer's start-up.
+    private void flood(Logger logger) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        producer = new Thread(() -> {
+            while (producing.get()) {
+                logger.logRecordBuilder().setBody("flood").emit();
+                started.countDown();
+            }
+        });
+        producer.setDaemon(true);
+        producer.start();
+        started.await(5, TimeUnit.SECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RecordingLogExporter implements LogRecordExporter {
+        private final Function<Collection<LogRecordData>, CompletableResultCode> behaviour;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger records = new AtomicInteger();
+
+        private RecordingLogExporter(Function<Collection<LogRecordData>, CompletableResultCode> behaviour) {
+            this.behaviour = behaviour;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<LogRecordData> logs) {
+            maxConcurrent.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                calls.incrementAndGet();
+                records.addAndGet(logs.size());
+                return behaviour.apply(logs);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    private static final class CountingMetricExporter implements MetricExporter {
+        private final AtomicInteger exports = new AtomicInteger();
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            exports.incrementAndGet();
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.logs.Severity;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.exporter.internal.otlp.logs.LogsRequestMarshaler;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.LogLimits;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanLimits;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Golden comparison of the hand-written pooled encoders against the upstream OTLP marshalers: the
+ * same SDK data must encode to identical bytes.
+ */
+class OtlpPooledEncodingTest {
+    // Lone and paired surrogates, 2- and 3-byte chars, and the one-byte/two-byte length prefix edges.
+    private static final List<String> STRINGS = List.of(
+            "",
+            "plain ascii",
+            "lone \uDBFF tail",
+            "lone \uD83D x",
+            "low \uDC00 first",
+            "\uD83D",
+            "emoji 😀 pair",
+            "café 日本語",
+            "x".repeat(127),
+            "y".repeat(128),
+            "z".repeat(20_000) + "\uD83D"
+    );
+
+    private static final Resource RESOURCE = Resource.getDefault().merge(Resource.create(Attributes.of(
+            AttributeKey.stringKey("service.name"), "golden \uDBFF service",
+            AttributeKey.stringKey("deployment.environment"), "test"
+    )));
+
+    @Test
+    void spansMatchUpstreamMarshaler() throws IOException {
+        List<SpanData> spans = new ArrayList<>();
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .setResource(RESOURCE)
+                .setSpanLimits(SpanLimits.builder().setMaxNumberOfAttributes(6).build())
+                .addSpanProcessor(new Capture<>(spans))
+                .build();
+        Tracer tracer = provider.tracerBuilder("golden").setInstrumentationVersion("1.0").build();
+        Tracer other = provider.get("golden-other");
+
+        SpanContext remote = SpanContext.createFromRemoteParent(
+                "0af7651916cd43dd8448eb211c80319c",
+                "b7ad6b7169203331",
+                TraceFlags.getSampled(),
+                TraceState.builder().put("vendor", "value").build()
+        );
+        for (String text : STRINGS) {
+            Span span = tracer.spanBuilder(text)
+                    .setParent(Context.root().with(Span.wrap(remote)))
+                    .setSpanKind(SpanKind.SERVER)
+                    .setAllAttributes(attributes(text))
+                    .addLink(remote, Attributes.of(AttributeKey.stringKey("link"), text))
+                    .startSpan();
+            try (Scope ignored = span.makeCurrent()) {
+                other.spanBuilder("child " + text).startSpan().setStatus(StatusCode.OK).end();
+            }
+            span.addEvent(text, Attributes.of(AttributeKey.longKey("n"), 7L));
+            span.setAttribute("extra.1", 1L).setAttribute("extra.2", 2L).setAttribute("extra.3", 3L);
+            span.setStatus(StatusCode.ERROR, text);
+            span.end();
+        }
+        provider.shutdown().join(5, TimeUnit.SECONDS);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        TraceRequestMarshaler.create(spans).writeBinaryTo(expected);
+        assertArrayEquals(expected.toByteArray(), encode(writer -> OtlpPooledSpanExporter.encode(writer, spans)));
+    }
+
+    @Test
+    void logsMatchUpstreamMarshaler() throws IOException {
+        List<LogRecordData> logs = new ArrayList<>();
+        SdkLoggerProvider provider = SdkLoggerProvider.builder()
+                .setResource(RESOURCE)
+                .setLogLimits(() -> LogLimits.builder().setMaxNumberOfAttributes(6).build())
+                .addLogRecordProcessor(new Capture<>(logs))
+                .build();
+        Logger logger = provider.loggerBuilder("golden").setInstrumentationVersion("1.0").build();
+        Logger other = provider.get("golden-other");
+
+        Span parent = Span.wrap(SpanContext.create(
+                "0af7651916cd43dd8448eb211c80319c",
+                "b7ad6b7169203331",
+                TraceFlags.getSampled(),
+                TraceState.getDefault()
+        ));
+        for (String text : STRINGS) {
+            logger.logRecordBuilder()
+                    .setTimestamp(1_700_000_000_123_456_789L, TimeUnit.NANOSECONDS)
+                    .setSeverity(Severity.WARN)
+                    .setSeverityText(text)
+                    .setBody(text)
+                    .setAllAttributes(attributes(text))
+                    .setAttribute(AttributeKey.longKey("extra.1"), 1L)
+                    .setAttribute(AttributeKey.longKey("extra.2"), 2L)
+                    .setContext(Context.root().with(parent))
+                    .emit();
+            other.logRecordBuilder().setBody(text).emit();
+            other.logRecordBuilder().setSeverityText(text).emit();
+        }
+        provider.shutdown().join(5, TimeUnit.SECONDS);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        LogsRequestMarshaler.create(logs).writeBinaryTo(expected);
+        assertArrayEquals(expected.toByteArray(), encode(writer -> OtlpPooledLogRecordExporter.encode(writer, logs)));
+    }
+
+    private static Attributes attributes(String text) {
+        return Attributes.builder()
+                .put("text", text)
+                .put("flag", false)
+                .put("count", -42L)
+                .put("ratio", 0.25)
+                .put(AttributeKey.stringArrayKey("texts"), List.of(text, "", "b"))
+                .put(AttributeKey.longArrayKey("counts"), List.of(0L, 1L, Long.MIN_VALUE))
+                .put(AttributeKey.doubleArrayKey("ratios"), List.of(0.0, -1.5))
+                .put(AttributeKey.booleanArrayKey("flags"), List.of(true, false))
+                .build();
+    }
+
+    private static byte[] encode(Consumer<OtlpProtoWriter> encoder) {
+        OtlpProtoWriter writer = OtlpProtoWriter.acquire();
+        try {
+            encoder.accept(writer);
+            return writer.toByteArray();
+        } finally {
+            OtlpProtoWriter.release(writer);
+        }
+    }
+
+    private static final class Capture<T> implements SpanProcessor, LogRecordProcessor {
+        private final List<T> sink;
+
+        private Capture(List<T> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void onStart(Context parentContext, ReadWriteSpan span) {
+        }
+
+        @Override
+        public boolean isStartRequired() {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onEnd(ReadableSpan span) {
+            sink.add((T) span.toSpanData());
+        }
+
+        @Override
+        public boolean isEndRequired() {
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+            sink.add((T) logRecord.toLogRecordData());
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}